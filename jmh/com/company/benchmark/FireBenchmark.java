@@ -0,0 +1,123 @@
+package com.company.benchmark;
+
+import com.company.BitFireEngine;
+import com.company.FireSimulator;
+import com.company.Main;
+import com.company.Maze;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fire spread: each invocation copies the starting maze and advances the fire a fixed number of ticks
+ * with a fixed seed, so every engine burns from the same start. Subtract SearchBenchmark.copyMaze
+ * for the cost of the ticks alone.
+ * @author Aditya Dhawan, Annie Thach
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FireBenchmark {
+    @Param({"100", "750", "2000"})
+    public int dim;
+
+    @Param({"0.2", "0.3"})
+    public double p;
+
+    @Param({"0.1", "0.5", "1.0"})
+    public double q;
+
+    @Param({"50"})
+    public int ticks;
+
+    private Maze maze;
+    private Maze buffer;
+    private double[] ignition;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        maze = Main.createMaze(dim, p, true, 42L);
+        buffer = new Maze(dim);
+        ignition = FireSimulator.ignitionProbabilities(q);
+        checkDoubleBuffered();
+    }
+
+    /**
+     * Helper method to run the double-buffered ticks once and check that both buffers kept their burning
+     * neighbor counts up to date, so doubleBuffered measures the incremental counts and not a rescan per tick.
+     */
+    private void checkDoubleBuffered() {
+        Maze current = maze.copy();
+        Maze next = new Maze(dim);
+        SplittableRandom random = new SplittableRandom(7L);
+        for(int t = 0; t < ticks; t++) {
+            Main.advanceFireOneStep(current, next, ignition, random);
+            Maze swap = current;
+            current = next;
+            next = swap;
+        }
+        if(!current.fireNeighborsMatch() || !next.fireNeighborsMatch()) {
+            throw new IllegalStateException("Fire neighbor counts are stale after " + ticks + " double-buffered ticks");
+        }
+    }
+
+    @Benchmark
+    public Maze advanceFireOneStep() {
+        Maze sim = maze.copy();
+        SplittableRandom random = new SplittableRandom(7L);
+        for(int t = 0; t < ticks; t++) {
+            Main.advanceFireOneStep(sim, q, random);
+        }
+        return sim;
+    }
+
+    @Benchmark
+    public Maze doubleBuffered() {
+        Maze current = maze.copy();
+        Maze next = buffer;
+        SplittableRandom random = new SplittableRandom(7L);
+        for(int t = 0; t < ticks; t++) {
+            Main.advanceFireOneStep(current, next, ignition, random);
+            Maze swap = current;
+            current = next;
+            next = swap;
+        }
+        buffer = next;
+        return current;
+    }
+
+    @Benchmark
+    public Maze frontier() {
+        Maze sim = maze.copy();
+        FireSimulator fire = new FireSimulator(sim, q, new SplittableRandom(7L));
+        for(int t = 0; t < ticks; t++) {
+            fire.step();
+        }
+        return sim;
+    }
+
+    @Benchmark
+    public Maze bitboard() {
+        Maze sim = maze.copy();
+        BitFireEngine fire = new BitFireEngine(sim, q, new SplittableRandom(7L));
+        for(int t = 0; t < ticks; t++) {
+            fire.step();
+        }
+        return sim;
+    }
+}
@@ -0,0 +1,79 @@
+package com.company.benchmark;
+
+import com.company.AStarEngine;
+import com.company.BFSEngine;
+import com.company.Main;
+import com.company.Maze;
+import com.company.PathInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search hot paths on one fixed maze per (dim, p): the original DFS/BFS/A* entry points,
+ * the engines behind them, and the maze copy every search used to start with.
+ * Run with -prof gc for allocation rates.
+ * @author Aditya Dhawan, Annie Thach
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+    @Param({"100", "750", "2000"})
+    public int dim;
+
+    @Param({"0.1", "0.2", "0.3"})
+    public double p;
+
+    private Maze maze;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        maze = Main.createMaze(dim, p, false, 42L);
+        Main.setMaze(maze);
+    }
+
+    @Benchmark
+    public boolean dfsMaze() {
+        return Main.DFSMaze();
+    }
+
+    @Benchmark
+    public PathInfo bfsMaze() {
+        return Main.BFSMaze();
+    }
+
+    @Benchmark
+    public PathInfo aStarMaze() {
+        return Main.AStarMaze();
+    }
+
+    @Benchmark
+    public PathInfo bfsEngine() {
+        return BFSEngine.search(maze, maze.getStart());
+    }
+
+    @Benchmark
+    public PathInfo aStarEngine() {
+        return AStarEngine.search(maze, maze.getStart(), maze.getGoal(), false);
+    }
+
+    @Benchmark
+    public Maze copyMaze() {
+        return Main.copyMaze();
+    }
+}
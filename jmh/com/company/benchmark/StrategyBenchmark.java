@@ -0,0 +1,68 @@
+package com.company.benchmark;
+
+import com.company.Main;
+import com.company.Maze;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full strategy runs on one solvable maze per (dim, p), with the same fire seed every invocation.
+ * The large dims are slow; narrow them with -p dim=100 while iterating.
+ * @author Aditya Dhawan, Annie Thach
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class StrategyBenchmark {
+    @Param({"100", "750", "2000"})
+    public int dim;
+
+    @Param({"0.2", "0.3"})
+    public double p;
+
+    @Param({"0.1", "0.3"})
+    public double q;
+
+    private Maze maze;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        maze = Main.createSolvableMaze(dim, p, new SplittableRandom(42L));
+    }
+
+    @Benchmark
+    public boolean stratOne() {
+        return Main.stratOne(maze, q, new SplittableRandom(7L));
+    }
+
+    @Benchmark
+    public boolean stratTwo() {
+        return Main.stratTwo(maze, q, new SplittableRandom(7L));
+    }
+
+    @Benchmark
+    public boolean stratThree() {
+        return Main.stratThree(maze, q, new SplittableRandom(7L));
+    }
+
+    @Benchmark
+    public boolean stratFour() {
+        return Main.stratFour(maze, q, new SplittableRandom(7L));
+    }
+}
@@ -0,0 +1,109 @@
+package com.company;
+
+/**
+ * A* search over a Maze with an indexed binary heap of cell indices.
+ * f(n) = g(n) + h(n), where g(n) is the accumulated cost from the start and
+ * h(n) is the Manhattan distance to the goal (admissible and consistent on a 4-connected grid).
+ * A cell is closed once it is popped; an open cell's key is lowered in place when a cheaper g is found.
+ * Ties on f are broken toward larger g so the search dives toward the goal.
+ * @author Aditya Dhawan, Annie Thach
+ */
+public class AStarEngine {
+
+    /**
+     * A* from a cell to another.
+     * @param maze - Maze to search. Obstacles and fire are walls.
+     * @param start - Cell index to start from.
+     * @param goal - Cell index to reach.
+     * @param fireRisk - If true, stepping onto a cell costs 1 + its number of burning neighbors,
+     *                   so paths that brush past the fire cost more. Otherwise every step costs 1.
+     * @return Path information; the shortest path is null if the goal is unreachable.
+     */
+    public static PathInfo search(Maze maze, int start, int goal, boolean fireRisk) {
+        SearchWorkspace workspace = SearchWorkspace.get();
+        workspace.begin(maze.size());
+        IndexedMinHeap heap = workspace.getHeap();
+        int[] g = workspace.getCost();
+        int[] parent = workspace.getParent();
+        int dim = maze.getDim();
+        int goalRow = goal / dim;
+        int goalCol = goal - goalRow * dim;
+
+        workspace.markVisited(start);
+        g[start] = 0;
+        parent[start] = start;
+        heap.push(start, key(0, manhattan(start, dim, goalRow, goalCol)));
+
+        // While heap is not empty ...
+        while(!heap.isEmpty()) {
+            int cell = heap.pop(); // Closes cell.
+
+            // If goal ...
+            if(cell == goal) {
+                return new PathInfo(BFSEngine.buildPath(maze, workspace, goal), workspace.getNumVisited());
+            }
+
+            int row = cell / dim;
+            int col = cell - row * dim;
+
+            // Check neighbors: down → right → left → up.
+            if(row + 1 < dim) {
+                relax(maze, workspace, heap, cell, cell + dim, fireRisk, goalRow, goalCol);
+            }
+            if(col + 1 < dim) {
+                relax(maze, workspace, heap, cell, cell + 1, fireRisk, goalRow, goalCol);
+            }
+            if(col - 1 >= 0) {
+                relax(maze, workspace, heap, cell, cell - 1, fireRisk, goalRow, goalCol);
+            }
+            if(row - 1 >= 0) {
+                relax(maze, workspace, heap, cell, cell - dim, fireRisk, goalRow, goalCol);
+            }
+        }
+
+        return new PathInfo(null, workspace.getNumVisited());
+    }
+
+    /**
+     * Helper method to open a neighbor or lower its g if this route is cheaper.
+     * Closed neighbors (visited and no longer queued) are skipped; with a consistent heuristic they are final.
+     */
+    private static void relax(Maze maze, SearchWorkspace workspace, IndexedMinHeap heap, int cell, int neighbor,
+                              boolean fireRisk, int goalRow, int goalCol) {
+        if(!maze.isOpen(neighbor)) {
+            return;
+        }
+        int[] g = workspace.getCost();
+        int cost = g[cell] + 1;
+        if(fireRisk) {
+            cost += maze.countFireNeighbors(neighbor);
+        }
+
+        if(!workspace.isVisited(neighbor)) {
+            workspace.markVisited(neighbor);
+            g[neighbor] = cost;
+            workspace.getParent()[neighbor] = cell;
+            heap.push(neighbor, key(cost, manhattan(neighbor, maze.getDim(), goalRow, goalCol)));
+        } else if(cost < g[neighbor] && heap.contains(neighbor)) {
+            g[neighbor] = cost;
+            workspace.getParent()[neighbor] = cell;
+            heap.decreaseKey(neighbor, key(cost, manhattan(neighbor, maze.getDim(), goalRow, goalCol)));
+        }
+    }
+
+    /**
+     * Helper method for the Manhattan distance from a cell to the goal.
+     */
+    static int manhattan(int cell, int dim, int goalRow, int goalCol) {
+        int row = cell / dim;
+        int col = cell - row * dim;
+        return Math.abs(row - goalRow) + Math.abs(col - goalCol);
+    }
+
+    /**
+     * Helper method to pack f = g + h with a tie-break on larger g into one heap key.
+     */
+    static long key(int g, int h) {
+        return ((long) (g + h) << 32) | (Integer.MAX_VALUE - g);
+    }
+}
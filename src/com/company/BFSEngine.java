@@ -0,0 +1,275 @@
+package com.company;
+
+import java.util.ArrayList;
+
+/**
+ * Breadth-first search over a Maze that does not allocate per explored node.
+ * Cells are packed as row * dim + col, the fringe is an int[] queue and parents
+ * are stored in an int[] instead of Index chains.
+ * The arrays come from the calling thread's SearchWorkspace and are reused across calls.
+ * @author Aditya Dhawan, Annie Thach
+ */
+public class BFSEngine {
+
+    /**
+     * BFS from a cell to the goal (dim - 1, dim - 1).
+     * @param maze - Maze to search. Obstacles and fire are walls.
+     * @param start - Cell index to start from.
+     * @return Path information; the shortest path is null if the goal is unreachable.
+     */
+    public static PathInfo search(Maze maze, int start) {
+        return search(maze, start, maze.getGoal());
+    }
+
+    /**
+     * BFS from one cell to another.
+     * @param maze - Maze to search. Obstacles and fire are walls.
+     * @param start - Cell index to start from.
+     * @param goal - Cell index to reach.
+     * @return Path information; the shortest path is null if the goal is unreachable.
+     */
+    public static PathInfo search(Maze maze, int start, int goal) {
+        SearchWorkspace workspace = SearchWorkspace.get();
+        workspace.begin(maze.size());
+        int[] queue = workspace.getQueue();
+        int[] parent = workspace.getParent();
+        int[] dist = workspace.getCost();
+        int dim = maze.getDim();
+
+        int head = 0;
+        int tail = 0;
+        workspace.markVisited(start);
+        dist[start] = 0;
+        parent[start] = start;
+        queue[tail++] = start;
+
+        // While queue is not empty ...
+        while(head < tail) {
+            int cell = queue[head++];
+
+            // If goal ...
+            if(cell == goal) {
+                return new PathInfo(buildPath(maze, workspace, goal), workspace.getNumVisited());
+            }
+
+            int row = cell / dim;
+            int col = cell - row * dim;
+            int next = dist[cell] + 1;
+
+            // Same neighbor order as Main.BFSMaze: down → right → left → up.
+            if(row + 1 < dim) {
+                tail = visit(maze, workspace, cell, cell + dim, next, tail);
+            }
+            if(col + 1 < dim) {
+                tail = visit(maze, workspace, cell, cell + 1, next, tail);
+            }
+            if(col - 1 >= 0) {
+                tail = visit(maze, workspace, cell, cell - 1, next, tail);
+            }
+            if(row - 1 >= 0) {
+                tail = visit(maze, workspace, cell, cell - dim, next, tail);
+            }
+        }
+
+        return new PathInfo(null, workspace.getNumVisited());
+    }
+
+    /**
+     * Bidirectional BFS from a cell to the goal (dim - 1, dim - 1).
+     * @param maze - Maze to search. Obstacles and fire are walls.
+     * @param start - Cell index to start from.
+     * @return Path information; the shortest path is null if the goal is unreachable.
+     */
+    public static PathInfo searchBidirectional(Maze maze, int start) {
+        return searchBidirectional(maze, start, maze.getGoal());
+    }
+
+    /**
+     * Bidirectional BFS: grows one frontier from the start and one from the goal, a whole level at a time,
+     * always expanding the smaller one, and stops when they meet. Each side only has to reach about half
+     * the distance, so on open mazes far fewer cells are explored than by search().
+     * The cost array holds d + 1 for cells reached from the start and -(d + 1) for cells reached from the goal;
+     * parents point back toward the side's own root.
+     * @param maze - Maze to search. Obstacles and fire are walls.
+     * @param start - Cell index to start from.
+     * @param goal - Cell index to reach.
+     * @return Path information; the shortest path is null if the goal is unreachable.
+     */
+    public static PathInfo searchBidirectional(Maze maze, int start, int goal) {
+        SearchWorkspace workspace = SearchWorkspace.get();
+        workspace.begin(maze.size());
+        int[] forward = workspace.getQueue();
+        int[] backward = workspace.getQueueBack();
+        int[] side = workspace.getCost();
+        int[] parent = workspace.getParent();
+        int dim = maze.getDim();
+
+        workspace.markVisited(start);
+        side[start] = 1;
+        parent[start] = start;
+        if(start == goal) {
+            return new PathInfo(buildPath(maze, workspace, goal), workspace.getNumVisited());
+        }
+        if(!maze.isOpen(goal)) {
+            return new PathInfo(null, workspace.getNumVisited());
+        }
+        workspace.markVisited(goal);
+        side[goal] = -1;
+        parent[goal] = goal;
+
+        int forwardHead = 0;
+        int forwardTail = 0;
+        int backwardHead = 0;
+        int backwardTail = 0;
+        forward[forwardTail++] = start;
+        backward[backwardTail++] = goal;
+        int[] meet = new int[3]; // Best meeting of the current level: path length, near cell, far cell.
+
+        // While both frontiers are not empty ...
+        while(forwardHead < forwardTail && backwardHead < backwardTail) {
+            boolean fromStart = forwardTail - forwardHead <= backwardTail - backwardHead;
+            int[] queue = fromStart ? forward : backward;
+            int head = fromStart ? forwardHead : backwardHead;
+            int tail = fromStart ? forwardTail : backwardTail;
+            int levelEnd = tail;
+            meet[0] = Integer.MAX_VALUE;
+
+            // Expand the whole level, so the shortest of the meetings it finds is kept.
+            while(head < levelEnd) {
+                int cell = queue[head++];
+                int row = cell / dim;
+                int col = cell - row * dim;
+                if(row + 1 < dim) {
+                    tail = visitFromSide(maze, workspace, queue, cell, cell + dim, fromStart, tail, meet);
+                }
+                if(col + 1 < dim) {
+                    tail = visitFromSide(maze, workspace, queue, cell, cell + 1, fromStart, tail, meet);
+                }
+                if(col - 1 >= 0) {
+                    tail = visitFromSide(maze, workspace, queue, cell, cell - 1, fromStart, tail, meet);
+                }
+                if(row - 1 >= 0) {
+                    tail = visitFromSide(maze, workspace, queue, cell, cell - dim, fromStart, tail, meet);
+                }
+            }
+
+            if(fromStart) {
+                forwardHead = head;
+                forwardTail = tail;
+            } else {
+                backwardHead = head;
+                backwardTail = tail;
+            }
+            if(meet[0] != Integer.MAX_VALUE) {
+                int meetStart = fromStart ? meet[1] : meet[2];
+                int meetGoal = fromStart ? meet[2] : meet[1];
+                return new PathInfo(joinPaths(maze, workspace, meetStart, meetGoal), workspace.getNumVisited());
+            }
+        }
+
+        return new PathInfo(null, workspace.getNumVisited());
+    }
+
+    /**
+     * Helper method to claim a neighbor for the expanding side, or record a meeting if the other side has it.
+     * @return New tail of the queue.
+     */
+    private static int visitFromSide(Maze maze, SearchWorkspace workspace, int[] queue, int cell, int neighbor,
+                                     boolean fromStart, int tail, int[] meet) {
+        int[] side = workspace.getCost();
+        if(!workspace.isVisited(neighbor)) {
+            if(maze.isOpen(neighbor)) {
+                workspace.markVisited(neighbor);
+                side[neighbor] = side[cell] + (fromStart ? 1 : -1);
+                workspace.getParent()[neighbor] = cell;
+                queue[tail++] = neighbor;
+            }
+        } else if((side[neighbor] > 0) != fromStart) { // Reached by the other side: frontiers meet.
+            int length = Math.abs(side[cell]) + Math.abs(side[neighbor]) - 1;
+            if(length < meet[0]) {
+                meet[0] = length;
+                meet[1] = cell;
+                meet[2] = neighbor;
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * Helper method to join the start side's parents back from one cell with the goal side's parents on from its neighbor.
+     * The second queue is no longer needed at this point, so it holds the cells of the path.
+     * @return The path from start to goal, inclusive.
+     */
+    private static ArrayList<Index> joinPaths(Maze maze, SearchWorkspace workspace, int meetStart, int meetGoal) {
+        int[] cells = workspace.getQueueBack();
+        int[] parent = workspace.getParent();
+        int toStart = 1;
+        for(int c = meetStart; parent[c] != c; c = parent[c]) {
+            toStart++;
+        }
+        int cell = meetStart;
+        for(int i = toStart - 1; i >= 0; i--) {
+            cells[i] = cell;
+            cell = parent[cell];
+        }
+        int length = toStart;
+        for(cell = meetGoal; ; cell = parent[cell]) {
+            cells[length++] = cell;
+            if(parent[cell] == cell) {
+                break;
+            }
+        }
+
+        ArrayList<Index> shortestPath = new ArrayList<Index>(length);
+        Index previous = null;
+        for(int i = 0; i < length; i++) {
+            Index step = new Index(maze.rowOf(cells[i]), maze.colOf(cells[i]), i, previous);
+            shortestPath.add(step);
+            previous = step;
+        }
+        return shortestPath;
+    }
+
+    /**
+     * Helper method to mark a neighbor explored and add it to the queue.
+     * @return New tail of the queue.
+     */
+    private static int visit(Maze maze, SearchWorkspace workspace, int cell, int neighbor, int d, int tail) {
+        if(!workspace.isVisited(neighbor) && maze.isOpen(neighbor)) {
+            workspace.markVisited(neighbor);
+            workspace.getCost()[neighbor] = d;
+            workspace.getParent()[neighbor] = cell;
+            workspace.getQueue()[tail++] = neighbor;
+        }
+        return tail;
+    }
+
+    /**
+     * Helper method to trace parents back from the goal; the start is its own parent.
+     * The queue is no longer needed at this point, so it holds the cells of the path.
+     * Shared with the other engines that keep parents in the workspace.
+     * @return The path from start to goal, inclusive.
+     */
+    static ArrayList<Index> buildPath(Maze maze, SearchWorkspace workspace, int goal) {
+        int[] queue = workspace.getQueue();
+        int[] parent = workspace.getParent();
+        int length = 1;
+        for(int c = goal; parent[c] != c; c = parent[c]) {
+            length++;
+        }
+        int cell = goal;
+        for(int i = length - 1; i >= 0; i--) {
+            queue[i] = cell;
+            cell = parent[cell];
+        }
+
+        ArrayList<Index> shortestPath = new ArrayList<Index>(length);
+        Index previous = null;
+        for(int i = 0; i < length; i++) {
+            Index step = new Index(maze.rowOf(queue[i]), maze.colOf(queue[i]), i, previous);
+            shortestPath.add(step);
+            previous = step;
+        }
+        return shortestPath;
+    }
+}
@@ -0,0 +1,222 @@
+package com.company;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Fire spread on bitboards: each maze row is a run of longs, one bit per space,
+ * so neighbor-on-fire masks for 64 spaces come from a few shifts and ORs.
+ * The number of burning neighbors (k) is added up bit-parallel, and for each k
+ * the spaces catch fire through a random mask whose bits are 1 with probability 1 - (1 - q)^k.
+ *
+ * A step is synchronous (reads one fire board, writes the other, then swaps).
+ * Only the rows from one above the topmost fire to one below the bottommost are scanned;
+ * fire never goes out, so every row outside that band is empty on both boards.
+ * New fires are also written into the maze, so searches on it see them.
+ * @author Aditya Dhawan, Annie Thach
+ */
+public class BitFireEngine implements FireModel {
+    /** Bits of precision of the random masks; probabilities are rounded to multiples of 2^-20. */
+    static final int PRECISION = 20;
+
+    private final Maze maze;
+    private final SplittableRandom random;
+    private final long[] thresholds; // Ignition probability for each k, scaled by 2^PRECISION.
+    private final int dim;
+    private final int words;         // Longs per row.
+    private final long[] open;       // 1 where a space is not an obstacle.
+    private long[] fire;
+    private long[] next;
+    private int minFireRow;
+    private int maxFireRow = -1;     // Empty band while nothing burns.
+
+    private int[] ignited = new int[64];
+    private int numIgnited;
+    private int tick;
+
+    /**
+     * Constructor that packs the maze's obstacles and fire into bitboards.
+     * @param maze - Maze to burn; fire is written into it as it spreads.
+     * @param q - Flammability rate; 0.0 <= q <= 1.0.
+     * @param random - Generator owned by the caller.
+     */
+    public BitFireEngine(Maze maze, double q, SplittableRandom random) {
+        this.maze = maze;
+        this.random = random;
+        this.dim = maze.getDim();
+        this.words = (dim + 63) >>> 6;
+        this.open = new long[dim * words];
+        this.fire = new long[dim * words];
+        this.next = new long[dim * words];
+
+        this.thresholds = thresholds(q);
+
+        for(int row = 0; row < dim; row++) {
+            for(int col = 0; col < dim; col++) {
+                byte space = maze.get(row, col);
+                long bit = 1L << (col & 63);
+                int w = row * words + (col >>> 6);
+                if(space != Maze.OBSTACLE) {
+                    open[w] |= bit;
+                }
+                if(space == Maze.FIRE) {
+                    fire[w] |= bit;
+                    if(maxFireRow < 0) {
+                        minFireRow = row;
+                    }
+                    maxFireRow = row;
+                }
+            }
+        }
+    }
+
+    /**
+     * Advances fire one step.
+     */
+    @Override
+    public void step() {
+        numIgnited = 0;
+        if(maxFireRow < 0) {
+            tick++;
+            return;
+        }
+        int firstRow = Math.max(0, minFireRow - 1);
+        int lastRow = Math.min(dim - 1, maxFireRow + 1);
+        for(int row = firstRow; row <= lastRow; row++) {
+            int base = row * words;
+            for(int w = 0; w < words; w++) {
+                int i = base + w;
+                long f = fire[i];
+                long candidates = open[i] & ~f;
+
+                // Neighbor-on-fire masks: bit c is set if that neighbor of space c burns.
+                long up = row > 0 ? fire[i - words] : 0L;
+                long down = row + 1 < dim ? fire[i + words] : 0L;
+                long left = (f << 1) | (w > 0 ? fire[i - 1] >>> 63 : 0L);
+                long right = (f >>> 1) | (w + 1 < words ? fire[i + 1] << 63 : 0L);
+
+                if((candidates & (up | down | left | right)) == 0) {
+                    next[i] = f;
+                    continue;
+                }
+
+                // k = up + down + left + right, one bit-slice per binary digit (s2 s1 s0).
+                long t1 = up ^ down;
+                long c1 = up & down;
+                long t2 = left ^ right;
+                long c2 = left & right;
+                long s0 = t1 ^ t2;
+                long c3 = t1 & t2;
+                long s1 = c1 ^ c2 ^ c3;
+                long s2 = c1 & c2;
+
+                long ignite = 0L;
+                ignite |= sample(candidates & s0 & ~s1, 1); // k = 1
+                ignite |= sample(candidates & ~s0 & s1, 2);  // k = 2
+                ignite |= sample(candidates & s0 & s1, 3);   // k = 3
+                ignite |= sample(candidates & s2, 4);        // k = 4
+
+                next[i] = f | ignite;
+                if(ignite != 0) {
+                    record(row, w, ignite);
+                    minFireRow = Math.min(minFireRow, row);
+                    maxFireRow = Math.max(maxFireRow, row);
+                }
+            }
+        }
+
+        long[] swap = fire;
+        fire = next;
+        next = swap;
+        tick++;
+    }
+
+    /**
+     * Helper method to keep each space of a mask with the probability of catching fire given k.
+     */
+    private long sample(long mask, int k) {
+        if(mask == 0) {
+            return 0L;
+        }
+        return mask & bernoulliMask(random, thresholds[k]);
+    }
+
+    /**
+     * Helper method to write a word's new fires into the maze and the ignited list.
+     */
+    private void record(int row, int w, long ignite) {
+        do {
+            int bit = Long.numberOfTrailingZeros(ignite);
+            ignite &= ignite - 1;
+            int cell = row * dim + (w << 6) + bit;
+            maze.set(cell, Maze.FIRE);
+            if(numIgnited == ignited.length) {
+                ignited = Arrays.copyOf(ignited, ignited.length * 2);
+            }
+            ignited[numIgnited++] = cell;
+        } while(ignite != 0);
+    }
+
+    /**
+     * Scales the ignition probability for each k to the bernoulliMask threshold.
+     * @param q - Flammability rate; 0.0 <= q <= 1.0.
+     * @return Thresholds indexed by k.
+     */
+    static long[] thresholds(double q) {
+        double[] ignition = FireSimulator.ignitionProbabilities(q);
+        long[] thresholds = new long[ignition.length];
+        for(int k = 0; k < ignition.length; k++) {
+            thresholds[k] = Math.round(ignition[k] * (1L << PRECISION));
+        }
+        return thresholds;
+    }
+
+    /**
+     * Makes a random 64-bit mask whose bits are independently 1 with probability threshold / 2^PRECISION.
+     * Works through the binary digits of the probability from least to most significant:
+     * a 1 digit ORs in a fair random word, a 0 digit ANDs one in.
+     * @param random - Generator to draw from.
+     * @param threshold - Probability scaled by 2^PRECISION.
+     * @return The random mask.
+     */
+    static long bernoulliMask(SplittableRandom random, long threshold) {
+        if(threshold <= 0) {
+            return 0L;
+        }
+        if(threshold >= (1L << PRECISION)) {
+            return -1L;
+        }
+        long mask = 0L;
+        for(int i = Long.numberOfTrailingZeros(threshold); i < PRECISION; i++) { // Lower 0 digits would AND into 0.
+            long r = random.nextLong();
+            mask = ((threshold >>> i) & 1L) != 0 ? (mask | r) : (mask & r);
+        }
+        return mask;
+    }
+
+    /**
+     * Checks if a space is on fire.
+     * @param cell - Cell index.
+     * @return True if on fire.
+     */
+    public boolean isOnFire(int cell) {
+        int row = cell / dim;
+        int col = cell - row * dim;
+        return (fire[row * words + (col >>> 6)] & (1L << (col & 63))) != 0;
+    }
+
+    @Override
+    public int getNumIgnited() {
+        return numIgnited;
+    }
+
+    @Override
+    public int getIgnited(int i) {
+        return ignited[i];
+    }
+
+    @Override
+    public int getTick() {
+        return tick;
+    }
+}
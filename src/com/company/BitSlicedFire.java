@@ -0,0 +1,298 @@
+package com.company;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 64 independent fire spreads through the same maze at once, bit-sliced: each space holds a long
+ * whose bit r is 1 if the space burns in realization r.
+ * The number of burning neighbors is added up with the same bit-parallel adder as BitFireEngine, and ignition
+ * is drawn for all 64 realizations at once, so one word operation advances a space in every realization.
+ *
+ * A step is synchronous and only visits the frontier: burnable spaces next to fire in some realization
+ * that have not yet burned in all of them. The maze itself is never changed.
+ * @author Aditya Dhawan, Annie Thach
+ */
+public class BitSlicedFire {
+    /** Number of realizations simulated together. */
+    public static final int REALIZATIONS = 64;
+
+    private Maze maze;
+    private SplittableRandom random;
+    private double q = Double.NaN;
+    private long[] thresholds;
+    private int dim;
+    private long[] fire = new long[0];
+
+    private int[] frontier = new int[64];
+    private int frontierSize;
+    private int[] frontierPos = new int[0]; // Position of a cell in frontier, or -1.
+
+    private int[] burned = new int[64]; // Cells burning in some realization, cleared by the next reset.
+    private int numBurned;
+
+    private int[] ignitedCells = new int[64];
+    private long[] ignitedMasks = new long[64];
+    private int tick;
+
+    /**
+     * Constructor where every realization starts from the maze's fire.
+     * @param maze - Maze to burn; it is only read.
+     * @param q - Flammability rate; 0.0 <= q <= 1.0.
+     * @param random - Generator owned by the caller.
+     */
+    public BitSlicedFire(Maze maze, double q, SplittableRandom random) {
+        reset(maze, q, random);
+    }
+
+    /**
+     * Starts over from a maze's current fire, found with one pass over the maze.
+     * @param maze - Maze to burn; it is only read.
+     * @param q - Flammability rate; 0.0 <= q <= 1.0.
+     * @param random - Generator owned by the caller.
+     */
+    public void reset(Maze maze, double q, SplittableRandom random) {
+        clear(maze, q, random);
+        for(int cell = 0; cell < maze.size(); cell++) {
+            if(maze.get(cell) == Maze.FIRE) {
+                light(cell);
+            }
+        }
+        lightNeighbors();
+    }
+
+    /**
+     * Starts over from a list of the maze's burning spaces. Only the spaces the last run touched are cleared,
+     * so one instance per thread can run rollout after rollout in time proportional to the fire, not the maze.
+     * @param maze - Maze to burn; it is only read.
+     * @param fireCells - Every space on fire in the maze.
+     * @param numFireCells - Number of entries of fireCells to use.
+     * @param q - Flammability rate; 0.0 <= q <= 1.0.
+     * @param random - Generator owned by the caller.
+     */
+    public void reset(Maze maze, int[] fireCells, int numFireCells, double q, SplittableRandom random) {
+        clear(maze, q, random);
+        for(int i = 0; i < numFireCells; i++) {
+            light(fireCells[i]);
+        }
+        lightNeighbors();
+    }
+
+    /**
+     * Helper method to empty every realization, reusing the arrays when the maze is the same size.
+     */
+    private void clear(Maze maze, double q, SplittableRandom random) {
+        this.maze = maze;
+        this.random = random;
+        this.dim = maze.getDim();
+        if(q != this.q) {
+            this.q = q;
+            this.thresholds = BitFireEngine.thresholds(q);
+        }
+        if(fire.length != maze.size()) {
+            fire = new long[maze.size()];
+            frontierPos = new int[maze.size()];
+            Arrays.fill(frontierPos, -1);
+        } else {
+            for(int i = 0; i < numBurned; i++) {
+                fire[burned[i]] = 0L;
+            }
+            for(int i = 0; i < frontierSize; i++) {
+                frontierPos[frontier[i]] = -1;
+            }
+        }
+        numBurned = 0;
+        frontierSize = 0;
+        tick = 0;
+    }
+
+    /**
+     * Helper method to set a space on fire in every realization.
+     */
+    private void light(int cell) {
+        if(fire[cell] == 0) {
+            addBurned(cell);
+        }
+        fire[cell] = -1L;
+    }
+
+    /**
+     * Helper method to put the neighbors of the lit spaces on the frontier, once they are all lit.
+     */
+    private void lightNeighbors() {
+        for(int i = 0; i < numBurned; i++) {
+            addNeighbors(burned[i]);
+        }
+    }
+
+    /**
+     * Advances fire one step in every realization.
+     */
+    public void step() {
+        int numIgnited = 0;
+        for(int i = 0; i < frontierSize; i++) {
+            int cell = frontier[i];
+            int row = cell / dim;
+            int col = cell - row * dim;
+            long up = row > 0 ? fire[cell - dim] : 0L;
+            long down = row + 1 < dim ? fire[cell + dim] : 0L;
+            long left = col > 0 ? fire[cell - 1] : 0L;
+            long right = col + 1 < dim ? fire[cell + 1] : 0L;
+            long candidates = ~fire[cell] & (up | down | left | right);
+            if(candidates == 0) {
+                continue;
+            }
+
+            // k = up + down + left + right, one bit-slice per binary digit (s2 s1 s0).
+            long t1 = up ^ down;
+            long c1 = up & down;
+            long t2 = left ^ right;
+            long c2 = left & right;
+            long s0 = t1 ^ t2;
+            long c3 = t1 & t2;
+            long s1 = c1 ^ c2 ^ c3;
+            long s2 = c1 & c2;
+
+            long ignite = sample(candidates & s0 & ~s1, candidates & ~s0 & s1, candidates & s0 & s1, candidates & s2);
+            if(ignite != 0) {
+                if(numIgnited == ignitedCells.length) {
+                    ignitedCells = Arrays.copyOf(ignitedCells, numIgnited * 2);
+                    ignitedMasks = Arrays.copyOf(ignitedMasks, numIgnited * 2);
+                }
+                ignitedCells[numIgnited] = cell;
+                ignitedMasks[numIgnited++] = ignite;
+            }
+        }
+
+        for(int i = 0; i < numIgnited; i++) {
+            ignite(ignitedCells[i], ignitedMasks[i]);
+        }
+        tick++;
+    }
+
+    /**
+     * Helper method to decide which candidate realizations catch fire, given the realizations with k = 1 to 4.
+     * Each realization draws a uniform PRECISION-bit number, one random word per binary digit from the top,
+     * and catches fire if it is below the threshold for its k. A realization is decided at the first digit
+     * where its number and threshold differ, so about half drop out per word and few words are drawn,
+     * where a bernoulliMask per k would draw up to PRECISION each.
+     */
+    private long sample(long k1, long k2, long k3, long k4) {
+        // Only q = 1 reaches a threshold of 2^PRECISION; those realizations catch fire for sure.
+        long one = 1L << BitFireEngine.PRECISION;
+        long below = (thresholds[1] >= one ? k1 : 0L) | (thresholds[2] >= one ? k2 : 0L)
+            | (thresholds[3] >= one ? k3 : 0L) | (thresholds[4] >= one ? k4 : 0L);
+        long undecided = (k1 | k2 | k3 | k4) & ~below;
+        for(int i = BitFireEngine.PRECISION - 1; i >= 0 && undecided != 0; i--) {
+            long digit = (((thresholds[1] >>> i) & 1L) != 0 ? k1 : 0L)
+                | (((thresholds[2] >>> i) & 1L) != 0 ? k2 : 0L)
+                | (((thresholds[3] >>> i) & 1L) != 0 ? k3 : 0L)
+                | (((thresholds[4] >>> i) & 1L) != 0 ? k4 : 0L);
+            long r = random.nextLong();
+            below |= undecided & digit & ~r;
+            undecided &= ~(digit ^ r);
+        }
+        return below;
+    }
+
+    /**
+     * Helper method to set a space on fire in some realizations and move the frontier past it.
+     */
+    private void ignite(int cell, long mask) {
+        boolean first = fire[cell] == 0;
+        fire[cell] |= mask;
+        if(fire[cell] == -1L) {
+            removeFromFrontier(cell);
+        }
+        if(first) { // Otherwise its neighbors joined the frontier when it first caught fire.
+            addBurned(cell);
+            addNeighbors(cell);
+        }
+    }
+
+    /**
+     * Helper method to remember a space that caught fire, for the next reset to clear.
+     */
+    private void addBurned(int cell) {
+        if(numBurned == burned.length) {
+            burned = Arrays.copyOf(burned, numBurned * 2);
+        }
+        burned[numBurned++] = cell;
+    }
+
+    /**
+     * Helper method to put the burnable neighbors of a space on the frontier.
+     */
+    private void addNeighbors(int cell) {
+        int row = cell / dim;
+        int col = cell - row * dim;
+        if(row - 1 >= 0) {
+            addIfBurnable(cell - dim);
+        }
+        if(row + 1 < dim) {
+            addIfBurnable(cell + dim);
+        }
+        if(col - 1 >= 0) {
+            addIfBurnable(cell - 1);
+        }
+        if(col + 1 < dim) {
+            addIfBurnable(cell + 1);
+        }
+    }
+
+    /**
+     * Helper method to add a neighbor of a new fire to the frontier.
+     */
+    private void addIfBurnable(int cell) {
+        if(frontierPos[cell] < 0 && fire[cell] != -1L && maze.get(cell) != Maze.OBSTACLE) {
+            addToFrontier(cell);
+        }
+    }
+
+    /**
+     * Helper method to append a cell to the frontier.
+     */
+    private void addToFrontier(int cell) {
+        if(frontierSize == frontier.length) {
+            frontier = Arrays.copyOf(frontier, frontier.length * 2);
+        }
+        frontierPos[cell] = frontierSize;
+        frontier[frontierSize++] = cell;
+    }
+
+    /**
+     * Helper method to remove a cell from the frontier by swapping in the last one.
+     */
+    private void removeFromFrontier(int cell) {
+        int i = frontierPos[cell];
+        int last = frontier[--frontierSize];
+        frontier[i] = last;
+        frontierPos[last] = i;
+        frontierPos[cell] = -1;
+    }
+
+    /**
+     * Getter method for which realizations a space burns in.
+     * @param cell - Cell index.
+     * @return Bit r is 1 if the space is on fire in realization r.
+     */
+    public long getFire(int cell) {
+        return fire[cell];
+    }
+
+    /**
+     * Getter method for the number of steps taken.
+     * @return Number of steps.
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * Getter method for the number of burnable spaces next to the fire in some realization.
+     * @return Frontier size.
+     */
+    public int getFrontierSize() {
+        return frontierSize;
+    }
+}
@@ -0,0 +1,105 @@
+package com.company;
+
+/**
+ * Depth-first reachability over a Maze that does not allocate per explored node.
+ * The fringe is the workspace's int[] used as a stack and visited marks are a bitset.
+ * Cells are marked when pushed, not when popped, so each cell is pushed at most once
+ * and the stack never holds more than the number of cells.
+ * @author Aditya Dhawan, Annie Thach
+ */
+public class DFSEngine {
+
+    /**
+     * DFS from a cell to the goal (dim - 1, dim - 1).
+     * @param maze - Maze to search. Obstacles and fire are walls.
+     * @param start - Cell index to start from.
+     * @return True if goal is reachable; false otherwise.
+     */
+    public static boolean search(Maze maze, int start) {
+        return search(maze, start, maze.getGoal());
+    }
+
+    /**
+     * DFS from one cell to another; stops as soon as the goal is pushed.
+     * @param maze - Maze to search. Obstacles and fire are walls.
+     * @param start - Cell index to start from.
+     * @param goal - Cell index to reach.
+     * @return True if goal is reachable; false otherwise.
+     */
+    public static boolean search(Maze maze, int start, int goal) {
+        SearchWorkspace workspace = SearchWorkspace.get();
+        workspace.begin(maze.size());
+        int[] stack = workspace.getQueue();
+        long[] visited = workspace.clearBits(maze.size());
+        int dim = maze.getDim();
+
+        if(start == goal) {
+            return true;
+        }
+        int top = 0;
+        visited[start >>> 6] |= 1L << start;
+        stack[top++] = start;
+
+        // While stack is not empty ...
+        while(top > 0) {
+            int cell = stack[--top];
+            int row = cell / dim;
+            int col = cell - row * dim;
+
+            // Same push order as Main.DFSMaze: up → left → right → down, so down is popped first.
+            if(row - 1 >= 0 && push(maze, visited, stack, top, cell - dim)) {
+                if(cell - dim == goal) {
+                    return true;
+                }
+                top++;
+            }
+            if(col - 1 >= 0 && push(maze, visited, stack, top, cell - 1)) {
+                if(cell - 1 == goal) {
+                    return true;
+                }
+                top++;
+            }
+            if(col + 1 < dim && push(maze, visited, stack, top, cell + 1)) {
+                if(cell + 1 == goal) {
+                    return true;
+                }
+                top++;
+            }
+            if(row + 1 < dim && push(maze, visited, stack, top, cell + dim)) {
+                if(cell + dim == goal) {
+                    return true;
+                }
+                top++;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Marks the cells reached by the calling thread's last DFS as explored (1) in a maze, for printing.
+     * @param maze - Maze to mark; should be a copy.
+     */
+    public static void markExplored(Maze maze) {
+        long[] visited = SearchWorkspace.get().getBits();
+        for(int cell = 0; cell < maze.size(); cell++) {
+            if((visited[cell >>> 6] & (1L << cell)) != 0) {
+                maze.set(cell, Maze.EXPLORED);
+            }
+        }
+    }
+
+    /**
+     * Helper method to mark an unvisited open neighbor and put it on top of the stack.
+     * @return True if the neighbor was pushed.
+     */
+    private static boolean push(Maze maze, long[] visited, int[] stack, int top, int neighbor) {
+        long bit = 1L << neighbor;
+        if((visited[neighbor >>> 6] & bit) != 0 || !maze.isOpen(neighbor)) {
+            return false;
+        }
+        visited[neighbor >>> 6] |= bit;
+        stack[top] = neighbor;
+        return true;
+    }
+}
@@ -0,0 +1,229 @@
+package com.company;
+
+import java.util.Arrays;
+
+/**
+ * D* Lite (Koenig and Likhachev) over a Maze with unit step costs.
+ * The search runs backward from the goal, so g(s) is a distance to the goal and stays valid as the agent moves.
+ * rhs(s) is the one-step lookahead min(1 + g(s')) over open neighbors s'; a cell whose g and rhs differ is queued.
+ * When spaces catch fire only their neighbors' rhs change, and replanning re-expands just the cells
+ * whose distance to the goal actually changed, instead of the whole region a fresh search would cover.
+ * Keys are [min(g, rhs) + h(agent, s) + km, min(g, rhs)] packed into one long; km grows by
+ * h(last, agent) each time walls are added, so queued keys stay valid without re-keying the heap.
+ * @author Aditya Dhawan, Annie Thach
+ */
+public class DStarLite implements Replanner {
+    /** Distance of an unreachable cell; small enough that key math cannot overflow an int. */
+    static final int INF = 1 << 29;
+
+    private final Maze maze;
+    private final int dim;
+    private final int goal;
+    private final int[] g;
+    private final int[] rhs;
+    private final IndexedMinHeap heap;
+    private int agent;
+    private int last;   // Agent's cell the last time km was raised.
+    private int km;
+    private boolean changed;
+    private int numExpanded;
+
+    /**
+     * Constructor that queues the goal; the first replan() does the initial search.
+     * @param maze - Maze to plan on; fire written into it later must be reported through cellBlocked.
+     * @param start - Cell index of the agent.
+     */
+    public DStarLite(Maze maze, int start) {
+        this.maze = maze;
+        this.dim = maze.getDim();
+        this.goal = maze.getGoal();
+        this.g = new int[maze.size()];
+        this.rhs = new int[maze.size()];
+        this.heap = new IndexedMinHeap(maze.size());
+        this.agent = start;
+        this.last = start;
+        Arrays.fill(g, INF);
+        Arrays.fill(rhs, INF);
+        if(maze.isOpen(goal)) {
+            rhs[goal] = 0;
+            heap.push(goal, key(goal));
+        }
+    }
+
+    @Override
+    public void moveAgent(int cell) {
+        agent = cell;
+    }
+
+    @Override
+    public void cellBlocked(int cell) {
+        if(!changed) {
+            km += manhattan(last, agent);
+            last = agent;
+            changed = true;
+        }
+        updateVertex(cell);
+        int row = cell / dim;
+        int col = cell - row * dim;
+        if(row + 1 < dim) {
+            updateVertex(cell + dim);
+        }
+        if(col + 1 < dim) {
+            updateVertex(cell + 1);
+        }
+        if(col - 1 >= 0) {
+            updateVertex(cell - 1);
+        }
+        if(row - 1 >= 0) {
+            updateVertex(cell - dim);
+        }
+    }
+
+    @Override
+    public boolean replan() {
+        changed = false;
+        // While the agent's key is not final or the agent is inconsistent ...
+        while(!heap.isEmpty() && (heap.getKey(heap.peek()) < key(agent) || rhs[agent] != g[agent])) {
+            int u = heap.peek();
+            long oldKey = heap.getKey(u);
+            long newKey = key(u);
+            if(oldKey < newKey) { // Queued before km went up.
+                heap.update(u, newKey);
+            } else if(g[u] > rhs[u]) { // Overconsistent: distance went down, settle it.
+                g[u] = rhs[u];
+                heap.remove(u);
+                numExpanded++;
+                updateNeighbors(u);
+            } else { // Underconsistent: distance went up, raise it and let neighbors find a new way.
+                g[u] = INF;
+                numExpanded++;
+                updateVertex(u);
+                updateNeighbors(u);
+            }
+        }
+        return rhs[agent] < INF;
+    }
+
+    @Override
+    public int nextStep() {
+        if(agent == goal) {
+            return -1;
+        }
+        int best = -1;
+        int bestG = INF;
+        int row = agent / dim;
+        int col = agent - row * dim;
+        // Same tie order as BFSEngine: down → right → left → up.
+        if(row + 1 < dim && maze.isOpen(agent + dim) && g[agent + dim] < bestG) {
+            best = agent + dim;
+            bestG = g[best];
+        }
+        if(col + 1 < dim && maze.isOpen(agent + 1) && g[agent + 1] < bestG) {
+            best = agent + 1;
+            bestG = g[best];
+        }
+        if(col - 1 >= 0 && maze.isOpen(agent - 1) && g[agent - 1] < bestG) {
+            best = agent - 1;
+            bestG = g[best];
+        }
+        if(row - 1 >= 0 && maze.isOpen(agent - dim) && g[agent - dim] < bestG) {
+            best = agent - dim;
+        }
+        return best;
+    }
+
+    /**
+     * Getter method for a cell's distance to the goal as of the last replan.
+     * @param cell - Cell index.
+     * @return Distance, or INF if unreachable (exact only for cells the search has settled).
+     */
+    public int getDistance(int cell) {
+        return g[cell];
+    }
+
+    /**
+     * Getter method for the number of cells expanded over every replan so far.
+     * @return Number of expansions.
+     */
+    public int getNumExpanded() {
+        return numExpanded;
+    }
+
+    /**
+     * Helper method to update every neighbor of a cell.
+     */
+    private void updateNeighbors(int cell) {
+        int row = cell / dim;
+        int col = cell - row * dim;
+        if(row + 1 < dim) {
+            updateVertex(cell + dim);
+        }
+        if(col + 1 < dim) {
+            updateVertex(cell + 1);
+        }
+        if(col - 1 >= 0) {
+            updateVertex(cell - 1);
+        }
+        if(row - 1 >= 0) {
+            updateVertex(cell - dim);
+        }
+    }
+
+    /**
+     * Helper method to recompute a cell's rhs and queue it if it is inconsistent.
+     */
+    private void updateVertex(int cell) {
+        if(!maze.isOpen(cell)) {
+            rhs[cell] = INF;
+        } else if(cell != goal) {
+            rhs[cell] = lookahead(cell);
+        }
+        if(g[cell] != rhs[cell]) {
+            if(heap.contains(cell)) {
+                heap.update(cell, key(cell));
+            } else {
+                heap.push(cell, key(cell));
+            }
+        } else if(heap.contains(cell)) {
+            heap.remove(cell);
+        }
+    }
+
+    /**
+     * Helper method for min(1 + g(s')) over the open neighbors s' of a cell.
+     */
+    private int lookahead(int cell) {
+        int best = INF;
+        int row = cell / dim;
+        int col = cell - row * dim;
+        if(row + 1 < dim && maze.isOpen(cell + dim)) {
+            best = Math.min(best, g[cell + dim]);
+        }
+        if(col + 1 < dim && maze.isOpen(cell + 1)) {
+            best = Math.min(best, g[cell + 1]);
+        }
+        if(col - 1 >= 0 && maze.isOpen(cell - 1)) {
+            best = Math.min(best, g[cell - 1]);
+        }
+        if(row - 1 >= 0 && maze.isOpen(cell - dim)) {
+            best = Math.min(best, g[cell - dim]);
+        }
+        return best >= INF ? INF : best + 1;
+    }
+
+    /**
+     * Helper method for a cell's priority, packed as (k1 << 32) | k2.
+     */
+    private long key(int cell) {
+        int k2 = Math.min(g[cell], rhs[cell]);
+        int k1 = k2 >= INF ? INF : k2 + manhattan(agent, cell) + km;
+        return ((long) k1 << 32) | k2;
+    }
+
+    /**
+     * Helper method for the Manhattan distance between two cells.
+     */
+    private int manhattan(int a, int b) {
+        return AStarEngine.manhattan(a, dim, b / dim, b % dim);
+    }
+}
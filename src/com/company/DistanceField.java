@@ -0,0 +1,191 @@
+package com.company;
+
+import java.util.Arrays;
+
+/**
+ * Distance to the goal for every cell, from one reverse BFS out of the goal,
+ * plus the current path from the agent marked cell by cell.
+ * The agent's next step is read off the path in O(1), and the field is only rebuilt when it has to be:
+ * fire can only lengthen distances, so a path that did not burn is still a shortest path.
+ * A new fire marks the field dirty if it lands on a reachable cell, and invalidates the path only if
+ * it lands on the path; the field is rebuilt only when a dirty field is needed for a new path.
+ * @author Aditya Dhawan, Annie Thach
+ */
+public class DistanceField implements Replanner {
+    /** Distance of a cell that cannot reach the goal. */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final Maze maze;
+    private final int dim;
+    private final int goal;
+    private final int[] dist;
+    private final int[] queue;
+    private final int[] path;
+    private final int[] onPath; // Epoch of the path a cell is on.
+    private int epoch;
+    private int pathLength;
+    private int pathPos;        // Position of the agent in path.
+    private boolean pathValid;
+    private boolean dirty = true;
+    private int agent;
+    private int numRebuilds;
+
+    /**
+     * Constructor; the first replan() builds the field.
+     * @param maze - Maze to plan on; fire written into it later must be reported through cellBlocked.
+     * @param start - Cell index of the agent.
+     */
+    public DistanceField(Maze maze, int start) {
+        this.maze = maze;
+        this.dim = maze.getDim();
+        this.goal = maze.getGoal();
+        this.dist = new int[maze.size()];
+        this.queue = new int[maze.size()];
+        this.path = new int[maze.size()];
+        this.onPath = new int[maze.size()];
+        this.agent = start;
+    }
+
+    @Override
+    public void moveAgent(int cell) {
+        agent = cell;
+        if(pathValid && pathPos + 1 < pathLength && path[pathPos + 1] == cell) {
+            pathPos++;
+        } else {
+            pathValid = false; // Stepped off the path.
+        }
+    }
+
+    @Override
+    public void cellBlocked(int cell) {
+        if(dist[cell] != UNREACHABLE) {
+            dirty = true;
+        }
+        if(onPath[cell] == epoch) {
+            pathValid = false;
+        }
+    }
+
+    @Override
+    public boolean replan() {
+        if(pathValid) {
+            return true;
+        }
+        if(dirty) {
+            rebuild();
+        }
+        if(dist[agent] == UNREACHABLE) {
+            return false;
+        }
+        tracePath();
+        return true;
+    }
+
+    @Override
+    public int nextStep() {
+        return pathPos + 1 < pathLength ? path[pathPos + 1] : -1;
+    }
+
+    /**
+     * Rebuilds the field now if a reported fire has reached it since the last rebuild,
+     * so getDistance is exact for the maze as it is.
+     */
+    public void refresh() {
+        if(dirty) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Getter method for a cell's distance to the goal as of the last rebuild.
+     * @param cell - Cell index.
+     * @return Number of steps, or UNREACHABLE.
+     */
+    public int getDistance(int cell) {
+        return dist[cell];
+    }
+
+    /**
+     * Getter method for the number of times the field was rebuilt.
+     * @return Number of reverse BFS runs.
+     */
+    public int getNumRebuilds() {
+        return numRebuilds;
+    }
+
+    /**
+     * Helper method to run the reverse BFS from the goal over open cells.
+     */
+    private void rebuild() {
+        Arrays.fill(dist, UNREACHABLE);
+        dirty = false;
+        numRebuilds++;
+        if(!maze.isOpen(goal)) {
+            return;
+        }
+        int head = 0;
+        int tail = 0;
+        dist[goal] = 0;
+        queue[tail++] = goal;
+        while(head < tail) {
+            int cell = queue[head++];
+            int row = cell / dim;
+            int col = cell - row * dim;
+            int next = dist[cell] + 1;
+            if(row + 1 < dim) {
+                tail = visit(cell + dim, next, tail);
+            }
+            if(col + 1 < dim) {
+                tail = visit(cell + 1, next, tail);
+            }
+            if(col - 1 >= 0) {
+                tail = visit(cell - 1, next, tail);
+            }
+            if(row - 1 >= 0) {
+                tail = visit(cell - dim, next, tail);
+            }
+        }
+    }
+
+    /**
+     * Helper method to give an unseen open neighbor its distance and queue it.
+     * @return New tail of the queue.
+     */
+    private int visit(int neighbor, int d, int tail) {
+        if(dist[neighbor] == UNREACHABLE && maze.isOpen(neighbor)) {
+            dist[neighbor] = d;
+            queue[tail++] = neighbor;
+        }
+        return tail;
+    }
+
+    /**
+     * Helper method to walk down the field from the agent to the goal, marking the cells of the new path.
+     * Ties go down → right → left → up, like BFSEngine.
+     */
+    private void tracePath() {
+        epoch++;
+        pathLength = 0;
+        pathPos = 0;
+        int cell = agent;
+        path[pathLength++] = cell;
+        onPath[cell] = epoch;
+        while(cell != goal) {
+            int want = dist[cell] - 1;
+            int row = cell / dim;
+            int col = cell - row * dim;
+            if(row + 1 < dim && dist[cell + dim] == want) {
+                cell = cell + dim;
+            } else if(col + 1 < dim && dist[cell + 1] == want) {
+                cell = cell + 1;
+            } else if(col - 1 >= 0 && dist[cell - 1] == want) {
+                cell = cell - 1;
+            } else {
+                cell = cell - dim;
+            }
+            path[pathLength++] = cell;
+            onPath[cell] = epoch;
+        }
+        pathValid = true;
+    }
+}
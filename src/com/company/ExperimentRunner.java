@@ -0,0 +1,154 @@
+package com.company;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs independent strategy trials in parallel for the success rate vs. flammability sweep.
+ * Solvable mazes come from a MazePool whose producers generate them ahead of the trials,
+ * so a trial only runs the strategies. Trials share no state and can run on any thread.
+ * Maze j of the run comes from the j-th generator split off a seeded root, and its outcome
+ * lands in row j, so a run is reproducible from its seed no matter how trials are scheduled.
+ * @author Aditya Dhawan, Annie Thach
+ */
+public class ExperimentRunner {
+    public static final int NUM_STRATEGIES = 4;
+
+    private final ExecutorService pool;
+    private final MazePool mazes;
+    private long numTrialsRun;
+
+    /**
+     * Constructor for a runner with one worker thread per core.
+     * @param dim - Dimension of the mazes.
+     * @param den - Obstacle density of the mazes.
+     */
+    public ExperimentRunner(int dim, double den) {
+        this(dim, den, Runtime.getRuntime().availableProcessors(), new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructor for a runner with a given number of worker threads, plus half as many maze producers.
+     * @param dim - Dimension of the mazes.
+     * @param den - Obstacle density of the mazes.
+     * @param threads - Number of worker threads.
+     * @param seed - Seed for the mazes and fire of every trial.
+     */
+    public ExperimentRunner(int dim, double den, int threads, long seed) {
+        this(dim, den, threads, seed, null);
+    }
+
+    /**
+     * Constructor for a runner that reads its mazes from a corpus, generating and appending the ones it lacks.
+     * @param dim - Dimension of the mazes.
+     * @param den - Obstacle density of the mazes.
+     * @param threads - Number of worker threads.
+     * @param seed - Seed for the mazes and fire of every trial.
+     * @param corpus - Corpus of mazes, or null to always generate; must stay open until shutdown.
+     */
+    public ExperimentRunner(int dim, double den, int threads, long seed, MazeCorpus corpus) {
+        this.pool = Executors.newFixedThreadPool(threads);
+        this.mazes = new MazePool(dim, den, seed, 2 * threads, Math.max(1, threads / 2), corpus);
+    }
+
+    /**
+     * Runs one trial: a fresh solvable maze, then strategies 1 to 4 on it.
+     * The fire is sampled once into an IgnitionField and replayed for each strategy, so they face the same fire.
+     * @param dim - Dimension of the maze.
+     * @param den - Obstacle density of the maze.
+     * @param q - The flammability.
+     * @param random - Generator for this trial only.
+     * @return Whether each strategy reached the goal; index 0 is strategy 1.
+     */
+    public static boolean[] runTrial(int dim, double den, double q, SplittableRandom random) {
+        Maze maze = Main.createSolvableMaze(dim, den, random);
+        long fireSeed = random.nextLong();
+        return runTrial(maze, q, fireSeed, random.nextLong());
+    }
+
+    /**
+     * Runs strategies 1 to 4 on a solvable maze, with fire sampled from one seed
+     * and Strategy 4's rollouts drawn from another.
+     * @param maze - Solvable maze; it is not changed.
+     * @param q - The flammability.
+     * @param fireSeed - Seed of the trial's fire.
+     * @param rolloutSeed - Seed of Strategy 4's rollouts.
+     * @return Whether each strategy reached the goal; index 0 is strategy 1.
+     */
+    public static boolean[] runTrial(Maze maze, double q, long fireSeed, long rolloutSeed) {
+        IgnitionField field = new IgnitionField(maze, q, new SplittableRandom(fireSeed));
+        boolean[] attempts = new boolean[NUM_STRATEGIES];
+        attempts[0] = Main.stratOne(maze, field);
+        attempts[1] = Main.stratTwo(maze, field);
+        attempts[2] = Main.stratThree(maze, field);
+        attempts[3] = Main.stratFour(maze, field, new SplittableRandom(rolloutSeed));
+        return attempts;
+    }
+
+    /**
+     * Runs trials across the worker threads and waits for all of them.
+     * Each trial takes the next maze from the pool; call from one thread at a time.
+     * @param q - The flammability.
+     * @param numTrials - Number of trials.
+     * @return Outcomes in trial order; row j holds runTrial's result for trial j.
+     */
+    public boolean[][] runTrials(double q, int numTrials) {
+        long first = numTrialsRun;
+        numTrialsRun += numTrials;
+        boolean[][] attempts = new boolean[numTrials][];
+        ArrayList<Future<?>> futures = new ArrayList<Future<?>>(numTrials);
+        for(int j = 0; j < numTrials; j++) {
+            Callable<Void> trial = () -> {
+                MazePool.Entry entry = mazes.take();
+                attempts[(int) (entry.getIndex() - first)] = runTrial(entry.getMaze(), q, entry.getFireSeed(), entry.getRolloutSeed());
+                return null;
+            };
+            futures.add(pool.submit(trial));
+        }
+
+        try {
+            for(int j = 0; j < numTrials; j++) {
+                futures.get(j).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for trials", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Trial failed", e.getCause());
+        }
+        return attempts;
+    }
+
+    /**
+     * Averages trial outcomes into a success rate per strategy.
+     * @param attempts - Outcomes from runTrials.
+     * @return Success rate of each strategy; index 0 is strategy 1.
+     */
+    public static double[] successRates(boolean[][] attempts) {
+        double[] rates = new double[NUM_STRATEGIES];
+        for(boolean[] attempt : attempts) {
+            for(int s = 0; s < rates.length; s++) {
+                if(attempt[s]) {
+                    rates[s] += 1.0;
+                }
+            }
+        }
+        for(int s = 0; s < rates.length; s++) {
+            rates[s] = rates[s] / attempts.length;
+        }
+        return rates;
+    }
+
+    /**
+     * Stops the maze producers, and the worker threads once submitted trials finish.
+     */
+    public void shutdown() {
+        mazes.shutdown();
+        pool.shutdown();
+    }
+}
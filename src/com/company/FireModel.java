@@ -0,0 +1,34 @@
+package com.company;
+
+/**
+ * A way of spreading fire through a Maze one step at a time.
+ * Implementations write new fires into the maze they were built on,
+ * so searches on that maze see the fire, and report which spaces caught fire on the last step.
+ * @author Aditya Dhawan, Annie Thach
+ */
+public interface FireModel {
+
+    /**
+     * Advances fire one step.
+     */
+    void step();
+
+    /**
+     * Getter method for the number of spaces that caught fire on the last step.
+     * @return Number of new fires.
+     */
+    int getNumIgnited();
+
+    /**
+     * Getter method for a space that caught fire on the last step.
+     * @param i - 0 to getNumIgnited() - 1.
+     * @return Cell index of the new fire.
+     */
+    int getIgnited(int i);
+
+    /**
+     * Getter method for the number of steps taken.
+     * @return Number of steps.
+     */
+    int getTick();
+}
@@ -0,0 +1,201 @@
+package com.company;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Spreads fire through a Maze one step at a time, only looking at the frontier:
+ * the burnable spaces that have at least one neighbor on fire.
+ * Spaces away from the fire cannot catch fire (their k is 0), so each step costs
+ * time proportional to the fire's perimeter instead of dim^2.
+ *
+ * A step is synchronous: every frontier space is sampled against the fire as it was
+ * at the start of the step, then all new fires are lit together.
+ * @author Aditya Dhawan, Annie Thach
+ */
+public class FireSimulator implements FireModel {
+    private final Maze maze;
+    private final double[] ignition;
+    private final SplittableRandom random;
+
+    private int[] frontier = new int[64];
+    private int frontierSize;
+    private final int[] frontierPos; // Position of a cell in frontier, or -1.
+
+    private int[] ignited = new int[64];
+    private int numIgnited;
+    private int tick;
+
+    /**
+     * Constructor that finds the initial frontier with one pass over the maze.
+     * @param maze - Maze to burn; fire is written into it as it spreads.
+     * @param q - Flammability rate; 0.0 <= q <= 1.0.
+     * @param random - Generator owned by the caller.
+     */
+    public FireSimulator(Maze maze, double q, SplittableRandom random) {
+        this.maze = maze;
+        this.ignition = ignitionProbabilities(q);
+        this.random = random;
+        this.frontierPos = new int[maze.size()];
+        Arrays.fill(frontierPos, -1);
+
+        for(int cell = 0; cell < maze.size(); cell++) {
+            if(isBurnable(cell) && maze.countFireNeighbors(cell) > 0) {
+                addToFrontier(cell);
+            }
+        }
+    }
+
+    /**
+     * Precomputes the probability that a space catches fire given k neighbors on fire:
+     * 1 - (1 - q)^k for k = 0 to 4, so stepping does no transcendental math.
+     * @param q - Flammability rate; 0.0 <= q <= 1.0.
+     * @return Table indexed by k.
+     */
+    public static double[] ignitionProbabilities(double q) {
+        double[] ignition = new double[5];
+        for(int k = 0; k < ignition.length; k++) {
+            ignition[k] = 1 - Math.pow((1 - q), k);
+        }
+        return ignition;
+    }
+
+    /**
+     * Advances fire one step.
+     * The probability that a frontier space will catch fire is 1 - (1 - q)^k, read from the table.
+     */
+    @Override
+    public void step() {
+        numIgnited = 0;
+        for(int i = 0; i < frontierSize; i++) {
+            int cell = frontier[i];
+            if(random.nextDouble() < ignition[maze.countFireNeighbors(cell)]) {
+                if(numIgnited == ignited.length) {
+                    ignited = Arrays.copyOf(ignited, ignited.length * 2);
+                }
+                ignited[numIgnited++] = cell;
+            }
+        }
+
+        for(int i = 0; i < numIgnited; i++) {
+            ignite(ignited[i]);
+        }
+        tick++;
+    }
+
+    /**
+     * Helper method to set a space on fire and move the frontier past it.
+     */
+    private void ignite(int cell) {
+        maze.set(cell, Maze.FIRE);
+        removeFromFrontier(cell);
+
+        int dim = maze.getDim();
+        int row = cell / dim;
+        int col = cell - row * dim;
+        if(row - 1 >= 0) {
+            addIfBurnable(cell - dim);
+        }
+        if(row + 1 < dim) {
+            addIfBurnable(cell + dim);
+        }
+        if(col - 1 >= 0) {
+            addIfBurnable(cell - 1);
+        }
+        if(col + 1 < dim) {
+            addIfBurnable(cell + 1);
+        }
+    }
+
+    /**
+     * Helper method to add a neighbor of a new fire to the frontier.
+     */
+    private void addIfBurnable(int cell) {
+        if(frontierPos[cell] < 0 && isBurnable(cell)) {
+            addToFrontier(cell);
+        }
+    }
+
+    /**
+     * Helper method to append a cell to the frontier.
+     */
+    private void addToFrontier(int cell) {
+        if(frontierSize == frontier.length) {
+            frontier = Arrays.copyOf(frontier, frontier.length * 2);
+        }
+        frontierPos[cell] = frontierSize;
+        frontier[frontierSize++] = cell;
+    }
+
+    /**
+     * Helper method to remove a cell from the frontier by swapping in the last one.
+     */
+    private void removeFromFrontier(int cell) {
+        int i = frontierPos[cell];
+        int last = frontier[--frontierSize];
+        frontier[i] = last;
+        frontierPos[last] = i;
+        frontierPos[cell] = -1;
+    }
+
+    /**
+     * Helper method to check if a space can still catch fire.
+     */
+    private boolean isBurnable(int cell) {
+        byte space = maze.get(cell);
+        return space != Maze.OBSTACLE && space != Maze.FIRE;
+    }
+
+    /**
+     * Checks if a space is on fire.
+     * @param cell - Cell index.
+     * @return True if on fire.
+     */
+    public boolean isOnFire(int cell) {
+        return maze.get(cell) == Maze.FIRE;
+    }
+
+    /**
+     * Getter method for the number of spaces that caught fire on the last step.
+     * @return Number of new fires.
+     */
+    @Override
+    public int getNumIgnited() {
+        return numIgnited;
+    }
+
+    /**
+     * Getter method for a space that caught fire on the last step.
+     * @param i - 0 to getNumIgnited() - 1.
+     * @return Cell index of the new fire.
+     */
+    @Override
+    public int getIgnited(int i) {
+        return ignited[i];
+    }
+
+    /**
+     * Getter method for the number of burnable spaces next to the fire.
+     * @return Frontier size.
+     */
+    public int getFrontierSize() {
+        return frontierSize;
+    }
+
+    /**
+     * Getter method for the number of steps taken.
+     * @return Number of steps.
+     */
+    @Override
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * Getter method for the maze being burned.
+     * @return The maze.
+     */
+    public Maze getMaze() {
+        return maze;
+    }
+}
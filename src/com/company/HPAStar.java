@@ -0,0 +1,567 @@
+package com.company;
+
+import java.util.Arrays;
+
+/**
+ * Hierarchical path-finding A* (Botea, Müller and Schaeffer) as a Replanner.
+ * The maze is cut into square clusters. Where two clusters share a run of open spaces on both sides
+ * of their border, an entrance is placed (the middle of a short run, both ends of a long one);
+ * entrance spaces are the nodes of an abstract graph, joined by single steps across borders and by
+ * precomputed in-cluster BFS distances inside each cluster.
+ * Planning is A* on that small graph, and only the next leg of the plan is refined into spaces.
+ *
+ * A new fire only dirties its own cluster, plus the neighboring cluster if it lands on their shared border;
+ * dirty clusters have their entrances and distances rebuilt before the next abstract search, so the cost
+ * of a fire scales with the cluster size rather than dim^2. If a fire lands in a cluster the rest of the plan
+ * goes through, only the legs in that cluster are re-measured; fire only makes distances longer, so if they
+ * are as long as before the plan is kept, and only otherwise is the abstract graph searched again.
+ * Paths are near-shortest, not always shortest: they pass through entrances.
+ * @author Aditya Dhawan, Annie Thach
+ */
+public class HPAStar implements Replanner {
+    /** Cluster side used by the two-argument constructor. */
+    public static final int DEFAULT_CLUSTER_SIZE = 16;
+    /** Runs of open border spaces longer than this get an entrance at each end instead of one in the middle. */
+    static final int MAX_SINGLE_ENTRANCE = 6;
+    private static final int INF = Integer.MAX_VALUE / 2;
+
+    private final Maze maze;
+    private final int dim;
+    private final int goal;
+    private final int size;          // Cluster side.
+    private final int across;        // Clusters per row (and per column).
+    private final int[] localIndex;  // Position of a cell in its cluster's node list, or -1.
+    private final int[][] nodes;     // Entrance cells of each cluster.
+    private final int[] numNodes;
+    private final int[][] intra;     // numNodes^2 in-cluster distances between entrances, per cluster.
+    private final boolean[] dirty;
+    private final int[] onPlan;      // Plan number of the last plan going through a cluster.
+    private final int[] lastOnPlan;  // Last position in that plan of a cell of the cluster.
+    private int planNumber;
+    private final int[] suspect;     // Suspect number of the last check a cluster needs re-measuring for.
+    private int suspectNumber = 1;
+
+    // In-cluster BFS scratch, indexed by position inside the cluster.
+    private final int[] bfsStamp;
+    private final int[] bfsDist;
+    private final int[] bfsParent;
+    private final int[] bfsQueue;
+    private int bfsEpoch;
+
+    private int[] startDist = new int[0]; // Agent to each entrance of its cluster.
+    private int[] goalDist = new int[0];  // Each entrance of the goal's cluster to the goal.
+    private int startToGoal;              // Agent to goal without leaving the cluster, or INF.
+
+    private int[] plan = new int[0];      // Abstract path: agent, entrances..., goal.
+    private int[] planCost = new int[0];  // Distance from the plan's first cell to each of its cells.
+    private int planLength;
+    private int planPos;                  // Leg being walked: plan[planPos] to plan[planPos + 1].
+    private final int[] leg;              // Spaces of the current leg, first excluded.
+    private int legLength;
+    private int legPos;
+    private boolean planValid;
+    private boolean planSuspect;          // A fire landed in a cluster the plan goes through.
+    private int agent;
+    private int numClusterRebuilds;
+
+    /**
+     * Constructor with the default cluster size.
+     * @param maze - Maze to plan on; fire written into it later must be reported through cellBlocked.
+     * @param start - Cell index of the agent.
+     */
+    public HPAStar(Maze maze, int start) {
+        this(maze, start, DEFAULT_CLUSTER_SIZE);
+    }
+
+    /**
+     * Constructor; the first replan() builds every cluster.
+     * @param maze - Maze to plan on; fire written into it later must be reported through cellBlocked.
+     * @param start - Cell index of the agent.
+     * @param clusterSize - Side of a cluster, in spaces.
+     */
+    public HPAStar(Maze maze, int start, int clusterSize) {
+        if(clusterSize < 2) {
+            throw new IllegalArgumentException("Cluster size must be at least 2, got " + clusterSize);
+        }
+        this.maze = maze;
+        this.dim = maze.getDim();
+        this.goal = maze.getGoal();
+        this.size = clusterSize;
+        this.across = (dim + clusterSize - 1) / clusterSize;
+        this.localIndex = new int[maze.size()];
+        Arrays.fill(localIndex, -1);
+        int numClusters = across * across;
+        this.nodes = new int[numClusters][0];
+        this.numNodes = new int[numClusters];
+        this.intra = new int[numClusters][0];
+        this.dirty = new boolean[numClusters];
+        Arrays.fill(dirty, true);
+        this.onPlan = new int[numClusters];
+        this.lastOnPlan = new int[numClusters];
+        this.suspect = new int[numClusters];
+        int area = clusterSize * clusterSize;
+        this.bfsStamp = new int[area];
+        this.bfsDist = new int[area];
+        this.bfsParent = new int[area];
+        this.bfsQueue = new int[area];
+        this.leg = new int[area];
+        this.agent = start;
+    }
+
+    @Override
+    public void moveAgent(int cell) {
+        agent = cell;
+        if(!planValid || legPos >= legLength || leg[legPos] != cell) {
+            planValid = false; // Stepped off the plan.
+            return;
+        }
+        legPos++;
+        if(legPos == legLength && planPos + 2 < planLength) {
+            planPos++;
+            refineLeg(plan[planPos], plan[planPos + 1]);
+        }
+    }
+
+    @Override
+    public void cellBlocked(int cell) {
+        int cluster = clusterOf(cell);
+        dirty[cluster] = true;
+        markSuspect(cluster);
+        // A fire on a border changes the entrances of the cluster across it too.
+        int row = cell / dim;
+        int col = cell - row * dim;
+        if(row + 1 < dim) {
+            markAcross(cluster, cell + dim);
+        }
+        if(col + 1 < dim) {
+            markAcross(cluster, cell + 1);
+        }
+        if(col - 1 >= 0) {
+            markAcross(cluster, cell - 1);
+        }
+        if(row - 1 >= 0) {
+            markAcross(cluster, cell - dim);
+        }
+    }
+
+    @Override
+    public boolean replan() {
+        if(planValid && !planSuspect) {
+            return true;
+        }
+        planSuspect = false;
+        boolean holds = planValid && planHolds();
+        suspectNumber++;
+        if(holds) {
+            return true;
+        }
+        planValid = false;
+        for(int cluster = 0; cluster < dirty.length; cluster++) {
+            if(dirty[cluster]) {
+                rebuildCluster(cluster);
+            }
+        }
+        if(!maze.isOpen(goal) || !search()) {
+            return false;
+        }
+        planPos = 0;
+        refineLeg(plan[0], plan[1]);
+        planValid = true;
+        return true;
+    }
+
+    @Override
+    public int nextStep() {
+        return legPos < legLength ? leg[legPos] : -1;
+    }
+
+    /**
+     * Getter method for the number of times a cluster's entrances and distances were rebuilt.
+     * @return Number of cluster rebuilds.
+     */
+    public int getNumClusterRebuilds() {
+        return numClusterRebuilds;
+    }
+
+    /**
+     * Helper method to dirty the cluster of a neighbor if it is not the fire's own cluster.
+     */
+    private void markAcross(int cluster, int neighbor) {
+        int other = clusterOf(neighbor);
+        if(other != cluster) {
+            dirty[other] = true;
+            markSuspect(other);
+        }
+    }
+
+    /**
+     * Helper method to flag a cluster whose legs must be re-measured, if the rest of the plan goes through it.
+     */
+    private void markSuspect(int cluster) {
+        if(planValid && onPlan[cluster] == planNumber && lastOnPlan[cluster] >= planPos) {
+            suspect[cluster] = suspectNumber;
+            planSuspect = true;
+        }
+    }
+
+    /**
+     * Helper method to recompute a cluster's entrances from its four borders, then the distances between them.
+     */
+    private void rebuildCluster(int cluster) {
+        for(int i = 0; i < numNodes[cluster]; i++) {
+            localIndex[nodes[cluster][i]] = -1;
+        }
+        numNodes[cluster] = 0;
+
+        int clusterRow = cluster / across;
+        int clusterCol = cluster - clusterRow * across;
+        int top = clusterRow * size;
+        int left = clusterCol * size;
+        int bottom = Math.min(dim, top + size) - 1;
+        int right = Math.min(dim, left + size) - 1;
+        if(top > 0) {
+            scanBorder(cluster, top, left, 0, 1, right - left + 1, -dim);
+        }
+        if(bottom < dim - 1) {
+            scanBorder(cluster, bottom, left, 0, 1, right - left + 1, dim);
+        }
+        if(left > 0) {
+            scanBorder(cluster, top, left, 1, 0, bottom - top + 1, -1);
+        }
+        if(right < dim - 1) {
+            scanBorder(cluster, top, right, 1, 0, bottom - top + 1, 1);
+        }
+
+        int n = numNodes[cluster];
+        if(intra[cluster].length < n * n) {
+            intra[cluster] = new int[n * n];
+        }
+        for(int i = 0; i < n; i++) {
+            clusterBfs(nodes[cluster][i], cluster);
+            for(int j = 0; j < n; j++) {
+                intra[cluster][i * n + j] = distanceTo(nodes[cluster][j], cluster);
+            }
+        }
+        dirty[cluster] = false;
+        numClusterRebuilds++;
+    }
+
+    /**
+     * Helper method to walk one border of a cluster and add this side's cell of each entrance.
+     * Both clusters on a border scan the same cells in the same order, so they agree on the entrances.
+     * @param row - Row of the first border cell on this side.
+     * @param col - Column of the first border cell on this side.
+     * @param dr - Row step along the border.
+     * @param dc - Column step along the border.
+     * @param length - Number of cells along the border.
+     * @param facing - Offset from a border cell to the cell facing it in the other cluster.
+     */
+    private void scanBorder(int cluster, int row, int col, int dr, int dc, int length, int facing) {
+        int runStart = -1;
+        for(int i = 0; i <= length; i++) {
+            int cell = (row + i * dr) * dim + col + i * dc;
+            boolean open = i < length && maze.isOpen(cell) && maze.isOpen(cell + facing);
+            if(open && runStart < 0) {
+                runStart = i;
+            } else if(!open && runStart >= 0) {
+                int runLength = i - runStart;
+                int first = (row + runStart * dr) * dim + col + runStart * dc;
+                int step = dr * dim + dc;
+                if(runLength <= MAX_SINGLE_ENTRANCE) {
+                    addNode(cluster, first + (runLength / 2) * step);
+                } else {
+                    addNode(cluster, first);
+                    addNode(cluster, first + (runLength - 1) * step);
+                }
+                runStart = -1;
+            }
+        }
+    }
+
+    /**
+     * Helper method to add a cell to a cluster's entrances unless it is one already (corners face two borders).
+     */
+    private void addNode(int cluster, int cell) {
+        if(localIndex[cell] >= 0) {
+            return;
+        }
+        if(numNodes[cluster] == nodes[cluster].length) {
+            nodes[cluster] = Arrays.copyOf(nodes[cluster], Math.max(8, nodes[cluster].length * 2));
+        }
+        localIndex[cell] = numNodes[cluster];
+        nodes[cluster][numNodes[cluster]++] = cell;
+    }
+
+    /**
+     * Helper method for A* on the abstract graph from the agent to the goal, using the thread's workspace.
+     * @return True if a plan was found; it is stored in plan.
+     */
+    private boolean search() {
+        int startCluster = clusterOf(agent);
+        int goalCluster = clusterOf(goal);
+        if(startDist.length < numNodes[startCluster]) {
+            startDist = new int[numNodes[startCluster]];
+        }
+        clusterBfs(agent, startCluster);
+        for(int i = 0; i < numNodes[startCluster]; i++) {
+            startDist[i] = distanceTo(nodes[startCluster][i], startCluster);
+        }
+        startToGoal = startCluster == goalCluster ? distanceTo(goal, goalCluster) : INF;
+        if(goalDist.length < numNodes[goalCluster]) {
+            goalDist = new int[numNodes[goalCluster]];
+        }
+        clusterBfs(goal, goalCluster);
+        for(int i = 0; i < numNodes[goalCluster]; i++) {
+            goalDist[i] = distanceTo(nodes[goalCluster][i], goalCluster);
+        }
+
+        SearchWorkspace workspace = SearchWorkspace.get();
+        workspace.begin(maze.size());
+        IndexedMinHeap heap = workspace.getHeap();
+        int[] g = workspace.getCost();
+        int[] parent = workspace.getParent();
+        int goalRow = goal / dim;
+        int goalCol = goal - goalRow * dim;
+
+        workspace.markVisited(agent);
+        g[agent] = 0;
+        parent[agent] = agent;
+        heap.push(agent, AStarEngine.key(0, AStarEngine.manhattan(agent, dim, goalRow, goalCol)));
+
+        while(!heap.isEmpty()) {
+            int cell = heap.pop();
+            if(cell == goal) {
+                storePlan(parent);
+                return true;
+            }
+            int cluster = clusterOf(cell);
+            int local = localIndex[cell];
+
+            if(cell == agent) {
+                for(int i = 0; i < numNodes[startCluster]; i++) {
+                    relax(workspace, heap, cell, nodes[startCluster][i], startDist[i], goalRow, goalCol);
+                }
+                relax(workspace, heap, cell, goal, startToGoal, goalRow, goalCol);
+            } else if(local >= 0) {
+                int n = numNodes[cluster];
+                for(int j = 0; j < n; j++) {
+                    relax(workspace, heap, cell, nodes[cluster][j], intra[cluster][local * n + j], goalRow, goalCol);
+                }
+            }
+            if(local >= 0) {
+                if(cluster == goalCluster) {
+                    relax(workspace, heap, cell, goal, goalDist[local], goalRow, goalCol);
+                }
+                // Single steps across borders to the entrance facing this one.
+                int row = cell / dim;
+                int col = cell - row * dim;
+                if(row + 1 < dim) {
+                    relaxAcross(workspace, heap, cell, cluster, cell + dim, goalRow, goalCol);
+                }
+                if(col + 1 < dim) {
+                    relaxAcross(workspace, heap, cell, cluster, cell + 1, goalRow, goalCol);
+                }
+                if(col - 1 >= 0) {
+                    relaxAcross(workspace, heap, cell, cluster, cell - 1, goalRow, goalCol);
+                }
+                if(row - 1 >= 0) {
+                    relaxAcross(workspace, heap, cell, cluster, cell - dim, goalRow, goalCol);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Helper method to follow an edge to an entrance in another cluster.
+     */
+    private void relaxAcross(SearchWorkspace workspace, IndexedMinHeap heap, int cell, int cluster, int neighbor,
+                             int goalRow, int goalCol) {
+        if(localIndex[neighbor] >= 0 && clusterOf(neighbor) != cluster && maze.isOpen(neighbor)) {
+            relax(workspace, heap, cell, neighbor, 1, goalRow, goalCol);
+        }
+    }
+
+    /**
+     * Helper method to open an abstract node or lower its g, as in AStarEngine.
+     */
+    private void relax(SearchWorkspace workspace, IndexedMinHeap heap, int cell, int next, int edge,
+                       int goalRow, int goalCol) {
+        if(edge >= INF || next == cell) {
+            return;
+        }
+        int[] g = workspace.getCost();
+        int cost = g[cell] + edge;
+        if(!workspace.isVisited(next)) {
+            workspace.markVisited(next);
+            g[next] = cost;
+            workspace.getParent()[next] = cell;
+            heap.push(next, AStarEngine.key(cost, AStarEngine.manhattan(next, dim, goalRow, goalCol)));
+        } else if(cost < g[next] && heap.contains(next)) {
+            g[next] = cost;
+            workspace.getParent()[next] = cell;
+            heap.decreaseKey(next, AStarEngine.key(cost, AStarEngine.manhattan(next, dim, goalRow, goalCol)));
+        }
+    }
+
+    /**
+     * Helper method to copy the abstract path out of the workspace parents and mark the clusters it uses.
+     */
+    private void storePlan(int[] parent) {
+        int length = 1;
+        for(int c = goal; parent[c] != c; c = parent[c]) {
+            length++;
+        }
+        if(plan.length < length) {
+            plan = new int[length];
+            planCost = new int[length];
+        }
+        int[] g = SearchWorkspace.get().getCost();
+        int cell = goal;
+        for(int i = length - 1; i >= 0; i--) {
+            plan[i] = cell;
+            planCost[i] = g[cell];
+            cell = parent[cell];
+        }
+        planLength = length;
+        planNumber++;
+        for(int i = 0; i < length; i++) {
+            onPlan[clusterOf(plan[i])] = planNumber;
+            lastOnPlan[clusterOf(plan[i])] = i;
+        }
+    }
+
+    /**
+     * Helper method to re-measure the remaining legs in suspect clusters, and re-route
+     * the current leg inside its cluster if it was cut.
+     * @return True if every remaining leg can still be walked in as many steps as planned.
+     */
+    private boolean planHolds() {
+        int to = plan[planPos + 1];
+        if(!maze.isOpen(to)) {
+            return false;
+        }
+        int cluster = clusterOf(agent);
+        if(clusterOf(to) == cluster && suspect[cluster] == suspectNumber) {
+            clusterBfs(agent, cluster);
+            if(distanceTo(to, cluster) != legLength - legPos) {
+                return false;
+            }
+            refineLeg(agent, to);
+        }
+        for(int i = planPos + 1; i + 1 < planLength; i++) {
+            int from = plan[i];
+            to = plan[i + 1];
+            if(!maze.isOpen(to)) {
+                return false;
+            }
+            cluster = clusterOf(from);
+            if(clusterOf(to) == cluster && suspect[cluster] == suspectNumber) {
+                clusterBfs(from, cluster);
+                if(distanceTo(to, cluster) != planCost[i + 1] - planCost[i]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Helper method to turn a leg of the plan into spaces.
+     * A leg is either one step across a border or a BFS inside one cluster.
+     */
+    private void refineLeg(int from, int to) {
+        legPos = 0;
+        int cluster = clusterOf(from);
+        if(clusterOf(to) != cluster) {
+            leg[0] = to;
+            legLength = 1;
+            return;
+        }
+        clusterBfs(from, cluster);
+        legLength = distanceTo(to, cluster);
+        int local = toLocal(to, cluster);
+        int top = (cluster / across) * size;
+        int left = (cluster % across) * size;
+        for(int i = legLength - 1; i >= 0; i--) {
+            leg[i] = (top + local / size) * dim + left + local % size;
+            local = bfsParent[local];
+        }
+    }
+
+    /**
+     * Helper method for BFS from a cell that never leaves its cluster; results stay in the bfs arrays.
+     */
+    private void clusterBfs(int from, int cluster) {
+        bfsEpoch++;
+        int top = (cluster / across) * size;
+        int left = (cluster % across) * size;
+        int height = Math.min(dim, top + size) - top;
+        int width = Math.min(dim, left + size) - left;
+        int head = 0;
+        int tail = 0;
+        int start = toLocal(from, cluster);
+        bfsStamp[start] = bfsEpoch;
+        bfsDist[start] = 0;
+        bfsParent[start] = start;
+        bfsQueue[tail++] = start;
+        while(head < tail) {
+            int local = bfsQueue[head++];
+            int r = local / size;
+            int c = local - r * size;
+            int cell = (top + r) * dim + left + c;
+            if(r + 1 < height) {
+                tail = clusterVisit(local, local + size, cell + dim, tail);
+            }
+            if(c + 1 < width) {
+                tail = clusterVisit(local, local + 1, cell + 1, tail);
+            }
+            if(c - 1 >= 0) {
+                tail = clusterVisit(local, local - 1, cell - 1, tail);
+            }
+            if(r - 1 >= 0) {
+                tail = clusterVisit(local, local - size, cell - dim, tail);
+            }
+        }
+    }
+
+    /**
+     * Helper method to reach an unseen open neighbor in the cluster BFS.
+     * @return New tail of the queue.
+     */
+    private int clusterVisit(int local, int neighbor, int cell, int tail) {
+        if(bfsStamp[neighbor] != bfsEpoch && maze.isOpen(cell)) {
+            bfsStamp[neighbor] = bfsEpoch;
+            bfsDist[neighbor] = bfsDist[local] + 1;
+            bfsParent[neighbor] = local;
+            bfsQueue[tail++] = neighbor;
+        }
+        return tail;
+    }
+
+    /**
+     * Helper method for the last cluster BFS's distance to a cell of that cluster, or INF.
+     */
+    private int distanceTo(int cell, int cluster) {
+        int local = toLocal(cell, cluster);
+        return bfsStamp[local] == bfsEpoch ? bfsDist[local] : INF;
+    }
+
+    /**
+     * Helper method for a cell's position inside its cluster.
+     */
+    private int toLocal(int cell, int cluster) {
+        int row = cell / dim;
+        int col = cell - row * dim;
+        return (row - (cluster / across) * size) * size + col - (cluster % across) * size;
+    }
+
+    /**
+     * Helper method for the cluster a cell is in.
+     */
+    private int clusterOf(int cell) {
+        int row = cell / dim;
+        int col = cell - row * dim;
+        return (row / size) * across + col / size;
+    }
+}
@@ -0,0 +1,155 @@
+package com.company;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * One sampled future of the fire, stored as the tick at which each space catches fire.
+ * The fire never depends on the agent, so every strategy in a trial can be run against the same
+ * sample: "is this space on fire at tick t" is a single comparison, and the fire is simulated once
+ * per trial instead of once per strategy.
+ * Ticks are sampled lazily, as far as the longest-running strategy needs.
+ * Spaces are also kept in ignition order with the start of each tick, so replaying a tick onto a maze
+ * costs only the fires of that tick.
+ * @author Aditya Dhawan, Annie Thach
+ */
+public class IgnitionField {
+    /** Ignition tick of a space that has not caught fire in any sampled tick. */
+    public static final int NEVER = Integer.MAX_VALUE;
+
+    private final Maze burning;     // Private copy the sampling fire spreads through.
+    private final double q;
+    private final FireModel fire;
+    private final int[] ignitionTick;
+    private final int[] order;      // Cells in the order they caught fire.
+    private int numOrdered;
+    private int[] tickStart = new int[64]; // tickStart[t] = position in order of the first fire of tick t.
+    private int sampledTicks;
+
+    /**
+     * Constructor that records the maze's fire as tick 0.
+     * @param maze - Maze whose fire is sampled; it is copied, not modified.
+     * @param q - Flammability rate; 0.0 <= q <= 1.0.
+     * @param random - Generator owned by the caller.
+     */
+    public IgnitionField(Maze maze, double q, SplittableRandom random) {
+        this.burning = maze.copy();
+        this.q = q;
+        this.fire = Main.createFireModel(burning, q, random);
+        this.ignitionTick = new int[maze.size()];
+        this.order = new int[maze.size()];
+        Arrays.fill(ignitionTick, NEVER);
+        for(int cell = 0; cell < maze.size(); cell++) {
+            if(maze.get(cell) == Maze.FIRE) {
+                ignitionTick[cell] = 0;
+                order[numOrdered++] = cell;
+            }
+        }
+        tickStart[1] = numOrdered;
+    }
+
+    /**
+     * Getter method for the flammability the fire is sampled with.
+     * @return Flammability rate.
+     */
+    public double getQ() {
+        return q;
+    }
+
+    /**
+     * Samples the fire up to and including a tick.
+     * @param tick - Last tick needed.
+     */
+    public void sampleTo(int tick) {
+        while(sampledTicks < tick) {
+            fire.step();
+            sampledTicks++;
+            for(int i = 0; i < fire.getNumIgnited(); i++) {
+                int cell = fire.getIgnited(i);
+                ignitionTick[cell] = sampledTicks;
+                order[numOrdered++] = cell;
+            }
+            if(sampledTicks + 1 == tickStart.length) {
+                tickStart = Arrays.copyOf(tickStart, tickStart.length * 2);
+            }
+            tickStart[sampledTicks + 1] = numOrdered;
+        }
+    }
+
+    /**
+     * Checks if a space is on fire at a tick.
+     * @param cell - Cell index.
+     * @param tick - Tick, 0 being the maze's own fire.
+     * @return True if the space caught fire at or before tick.
+     */
+    public boolean isOnFire(int cell, int tick) {
+        sampleTo(tick);
+        return ignitionTick[cell] <= tick;
+    }
+
+    /**
+     * Getter method for the tick a space catches fire at, among the ticks sampled so far.
+     * @param cell - Cell index.
+     * @return Ignition tick, or NEVER.
+     */
+    public int getIgnitionTick(int cell) {
+        return ignitionTick[cell];
+    }
+
+    /**
+     * Getter method for the number of ticks sampled so far.
+     * @return Number of ticks.
+     */
+    public int getSampledTicks() {
+        return sampledTicks;
+    }
+
+    /**
+     * Makes a FireModel that writes this sample into a maze tick by tick.
+     * @param mazeSim - Copy of the maze the field was sampled from.
+     * @return Fire model for mazeSim.
+     */
+    public FireModel replay(Maze mazeSim) {
+        return new Replay(mazeSim);
+    }
+
+    /**
+     * Plays an IgnitionField back onto a maze; the random draws were all made while sampling.
+     */
+    private class Replay implements FireModel {
+        private final Maze maze;
+        private int tick;
+
+        /**
+         * Constructor for a replay starting at tick 0.
+         * @param maze - Maze to write fire into.
+         */
+        Replay(Maze maze) {
+            this.maze = maze;
+        }
+
+        @Override
+        public void step() {
+            tick++;
+            sampleTo(tick);
+            for(int i = tickStart[tick]; i < tickStart[tick + 1]; i++) {
+                maze.set(order[i], Maze.FIRE);
+            }
+        }
+
+        @Override
+        public int getNumIgnited() {
+            return tick == 0 ? 0 : tickStart[tick + 1] - tickStart[tick];
+        }
+
+        @Override
+        public int getIgnited(int i) {
+            return order[tickStart[tick] + i];
+        }
+
+        @Override
+        public int getTick() {
+            return tick;
+        }
+    }
+}
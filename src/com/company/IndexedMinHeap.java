@@ -0,0 +1,201 @@
+package com.company;
+
+import java.util.Arrays;
+
+/**
+ * Binary min heap of cell indices with a position table, so a cell's key can be decreased in place.
+ * Keys are longs and items are plain ints, so nothing is boxed.
+ * @author Aditya Dhawan, Annie Thach
+ */
+public class IndexedMinHeap {
+    private final int[] heap;
+    private final int[] pos;
+    private final long[] key;
+    private int size;
+
+    /**
+     * Constructor for a heap that can hold cells 0 to capacity - 1.
+     * @param capacity - Number of cells.
+     */
+    public IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        pos = new int[capacity];
+        key = new long[capacity];
+        Arrays.fill(pos, -1);
+    }
+
+    /**
+     * Getter method for the largest cell index + 1 the heap can hold.
+     * @return Capacity.
+     */
+    public int capacity() {
+        return pos.length;
+    }
+
+    /**
+     * Checks if the heap is empty.
+     * @return True if empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Getter method for the number of cells in the heap.
+     * @return Size of heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if a cell is in the heap.
+     * @param cell - Cell index.
+     * @return True if cell is queued.
+     */
+    public boolean contains(int cell) {
+        return pos[cell] >= 0;
+    }
+
+    /**
+     * Getter method for the key of a queued cell.
+     * @param cell - Cell index.
+     * @return Key of cell.
+     */
+    public long getKey(int cell) {
+        return key[cell];
+    }
+
+    /**
+     * Getter method for the cell with the smallest key.
+     * @return Cell at the top of the heap.
+     */
+    public int peek() {
+        return heap[0];
+    }
+
+    /**
+     * Adds a cell that is not in the heap.
+     * @param cell - Cell index.
+     * @param k - Key.
+     */
+    public void push(int cell, long k) {
+        key[cell] = k;
+        heap[size] = cell;
+        pos[cell] = size;
+        size++;
+        siftUp(size - 1);
+    }
+
+    /**
+     * Lowers the key of a queued cell.
+     * @param cell - Cell index.
+     * @param k - New key; must not be greater than the old one.
+     */
+    public void decreaseKey(int cell, long k) {
+        key[cell] = k;
+        siftUp(pos[cell]);
+    }
+
+    /**
+     * Changes the key of a queued cell in either direction.
+     * @param cell - Cell index.
+     * @param k - New key.
+     */
+    public void update(int cell, long k) {
+        long old = key[cell];
+        key[cell] = k;
+        if(k < old) {
+            siftUp(pos[cell]);
+        } else {
+            siftDown(pos[cell]);
+        }
+    }
+
+    /**
+     * Removes a queued cell.
+     * @param cell - Cell index.
+     */
+    public void remove(int cell) {
+        int i = pos[cell];
+        size--;
+        pos[cell] = -1;
+        if(i != size) {
+            int last = heap[size];
+            heap[i] = last;
+            pos[last] = i;
+            siftUp(i);
+            siftDown(pos[last]);
+        }
+    }
+
+    /**
+     * Removes the cell with the smallest key.
+     * @return The removed cell.
+     */
+    public int pop() {
+        int top = heap[0];
+        size--;
+        pos[top] = -1;
+        if(size > 0) {
+            heap[0] = heap[size];
+            pos[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * Empties the heap in O(size).
+     */
+    public void clear() {
+        for(int i = 0; i < size; i++) {
+            pos[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    /**
+     * Helper method to move an entry up until its parent is not larger.
+     */
+    private void siftUp(int i) {
+        int cell = heap[i];
+        long k = key[cell];
+        while(i > 0) {
+            int p = (i - 1) >>> 1;
+            int parent = heap[p];
+            if(key[parent] <= k) {
+                break;
+            }
+            heap[i] = parent;
+            pos[parent] = i;
+            i = p;
+        }
+        heap[i] = cell;
+        pos[cell] = i;
+    }
+
+    /**
+     * Helper method to move an entry down until its children are not smaller.
+     */
+    private void siftDown(int i) {
+        int cell = heap[i];
+        long k = key[cell];
+        int half = size >>> 1;
+        while(i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if(right < size && key[heap[right]] < key[heap[child]]) {
+                child = right;
+            }
+            if(k <= key[heap[child]]) {
+                break;
+            }
+            heap[i] = heap[child];
+            pos[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = cell;
+        pos[cell] = i;
+    }
+}
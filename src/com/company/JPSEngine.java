@@ -0,0 +1,184 @@
+package com.company;
+
+import java.util.ArrayList;
+
+/**
+ * Jump Point Search for a 4-connected, uniform-cost Maze: A* over jump points only.
+ * From each expanded cell the search scans straight ahead until it hits a cell worth expanding,
+ * skipping the many equal-length orderings of the same moves that plain A* puts on its heap.
+ * The pruning and forced-neighbor rules follow the no-diagonal variant of PathFinding.js:
+ * - moving horizontally, a cell is a jump point if an open space above or below it was blocked one step back;
+ * - moving vertically, the same check sideways, and also if a horizontal scan from it finds a jump point.
+ * Scans are loops rather than recursion, so long corridors cannot overflow the stack.
+ * @author Aditya Dhawan, Annie Thach
+ */
+public class JPSEngine {
+
+    /**
+     * JPS from a cell to another.
+     * @param maze - Maze to search. Obstacles and fire are walls.
+     * @param start - Cell index to start from.
+     * @param goal - Cell index to reach.
+     * @return Path information; the shortest path is null if the goal is unreachable.
+     *         The path includes every cell between jump points; the number of nodes explored
+     *         is the number of jump points expanded.
+     */
+    public static PathInfo search(Maze maze, int start, int goal) {
+        SearchWorkspace workspace = SearchWorkspace.get();
+        workspace.begin(maze.size());
+        IndexedMinHeap heap = workspace.getHeap();
+        int[] g = workspace.getCost();
+        int[] parent = workspace.getParent();
+        int dim = maze.getDim();
+        int goalRow = goal / dim;
+        int goalCol = goal - goalRow * dim;
+        int numExpanded = 0;
+
+        workspace.markVisited(start);
+        g[start] = 0;
+        parent[start] = start;
+        heap.push(start, AStarEngine.key(0, AStarEngine.manhattan(start, dim, goalRow, goalCol)));
+
+        // While heap is not empty ...
+        while(!heap.isEmpty()) {
+            int cell = heap.pop(); // Closes cell.
+            numExpanded++;
+
+            // If goal ...
+            if(cell == goal) {
+                return new PathInfo(buildPath(maze, workspace, goal), numExpanded);
+            }
+
+            int row = cell / dim;
+            int col = cell - row * dim;
+            int from = parent[cell];
+            int dr = Integer.signum(row - from / dim);
+            int dc = Integer.signum(col - from % dim);
+
+            // Natural and forced neighbors: sideways and straight on, or all four at the start.
+            if(dc == 0) {
+                jumpAndRelax(maze, workspace, heap, cell, jumpHorizontal(maze, row, col + 1, 1, goal), goalRow, goalCol);
+                jumpAndRelax(maze, workspace, heap, cell, jumpHorizontal(maze, row, col - 1, -1, goal), goalRow, goalCol);
+            }
+            if(dr == 0) {
+                jumpAndRelax(maze, workspace, heap, cell, jumpVertical(maze, row + 1, col, 1, goal), goalRow, goalCol);
+                jumpAndRelax(maze, workspace, heap, cell, jumpVertical(maze, row - 1, col, -1, goal), goalRow, goalCol);
+            }
+            if(dr != 0) {
+                jumpAndRelax(maze, workspace, heap, cell, jumpVertical(maze, row + dr, col, dr, goal), goalRow, goalCol);
+            }
+            if(dc != 0) {
+                jumpAndRelax(maze, workspace, heap, cell, jumpHorizontal(maze, row, col + dc, dc, goal), goalRow, goalCol);
+            }
+        }
+
+        return new PathInfo(null, numExpanded);
+    }
+
+    /**
+     * Helper method to open a jump point or lower its g, like AStarEngine's relax but with the straight-line distance as cost.
+     */
+    private static void jumpAndRelax(Maze maze, SearchWorkspace workspace, IndexedMinHeap heap, int cell, int jump,
+                                     int goalRow, int goalCol) {
+        if(jump < 0) {
+            return;
+        }
+        int dim = maze.getDim();
+        int[] g = workspace.getCost();
+        int cost = g[cell] + AStarEngine.manhattan(jump, dim, cell / dim, cell % dim);
+        if(!workspace.isVisited(jump)) {
+            workspace.markVisited(jump);
+            g[jump] = cost;
+            workspace.getParent()[jump] = cell;
+            heap.push(jump, AStarEngine.key(cost, AStarEngine.manhattan(jump, dim, goalRow, goalCol)));
+        } else if(cost < g[jump] && heap.contains(jump)) {
+            g[jump] = cost;
+            workspace.getParent()[jump] = cell;
+            heap.decreaseKey(jump, AStarEngine.key(cost, AStarEngine.manhattan(jump, dim, goalRow, goalCol)));
+        }
+    }
+
+    /**
+     * Helper method to scan along a row from (row, col) in direction dc.
+     * @return Cell index of the first jump point, or -1 if a wall or the edge comes first.
+     */
+    private static int jumpHorizontal(Maze maze, int row, int col, int dc, int goal) {
+        int dim = maze.getDim();
+        while(isOpen(maze, row, col)) {
+            int cell = row * dim + col;
+            if(cell == goal) {
+                return cell;
+            }
+            if((isOpen(maze, row - 1, col) && !isOpen(maze, row - 1, col - dc))
+                || (isOpen(maze, row + 1, col) && !isOpen(maze, row + 1, col - dc))) {
+                return cell; // Forced neighbor above or below.
+            }
+            col += dc;
+        }
+        return -1;
+    }
+
+    /**
+     * Helper method to scan along a column from (row, col) in direction dr,
+     * stopping where a sideways scan would find a jump point.
+     * @return Cell index of the first jump point, or -1 if a wall or the edge comes first.
+     */
+    private static int jumpVertical(Maze maze, int row, int col, int dr, int goal) {
+        int dim = maze.getDim();
+        while(isOpen(maze, row, col)) {
+            int cell = row * dim + col;
+            if(cell == goal) {
+                return cell;
+            }
+            if((isOpen(maze, row, col - 1) && !isOpen(maze, row - dr, col - 1))
+                || (isOpen(maze, row, col + 1) && !isOpen(maze, row - dr, col + 1))) {
+                return cell; // Forced neighbor to the left or right.
+            }
+            if(jumpHorizontal(maze, row, col + 1, 1, goal) >= 0 || jumpHorizontal(maze, row, col - 1, -1, goal) >= 0) {
+                return cell;
+            }
+            row += dr;
+        }
+        return -1;
+    }
+
+    /**
+     * Helper method to check a space is inside the maze and not a wall.
+     */
+    private static boolean isOpen(Maze maze, int row, int col) {
+        int dim = maze.getDim();
+        return row >= 0 && row < dim && col >= 0 && col < dim && maze.isOpen(row * dim + col);
+    }
+
+    /**
+     * Helper method to trace jump points back from the goal, filling in the straight runs between them.
+     * @return The path from start to goal, inclusive.
+     */
+    private static ArrayList<Index> buildPath(Maze maze, SearchWorkspace workspace, int goal) {
+        int[] cells = workspace.getQueue();
+        int[] parent = workspace.getParent();
+        int[] g = workspace.getCost();
+        int dim = maze.getDim();
+        int length = g[goal] + 1; // Every step costs 1, so g is the number of steps.
+
+        int i = length - 1;
+        cells[i] = goal;
+        for(int jump = goal; parent[jump] != jump; jump = parent[jump]) {
+            int from = parent[jump];
+            int step = from / dim == jump / dim ? Integer.signum(from - jump) : Integer.signum(from - jump) * dim;
+            for(int cell = jump + step; cell != from; cell += step) {
+                cells[--i] = cell;
+            }
+            cells[--i] = from;
+        }
+
+        ArrayList<Index> shortestPath = new ArrayList<Index>(length);
+        Index previous = null;
+        for(int j = 0; j < length; j++) {
+            Index stepIndex = new Index(maze.rowOf(cells[j]), maze.colOf(cells[j]), j, previous);
+            shortestPath.add(stepIndex);
+            previous = stepIndex;
+        }
+        return shortestPath;
+    }
+}
@@ -14,8 +14,35 @@ import java.io.*;
  * @author Aditya Dhawan, Annie Thach
  */
 public class Main {
-    private static int[][] maze;
-    private static int[][] mazeSearched;
+    private static Maze maze;
+    private static Maze mazeSearched;
+
+    /** From this flammability up, strategy simulations spread fire on bitboards instead of the frontier. */
+    public static final double BIT_FIRE_MIN_Q = 0.5;
+    /** From this dimension up, strategy 2 re-plans hierarchically instead of on the whole-maze distance field. */
+    public static final int HPA_MIN_DIM = 1000;
+    /** Fire rollouts per candidate move for strategy 4. */
+    public static final int ROLLOUTS = 64;
+    /** Fire steps each strategy 4 rollout looks ahead. */
+    public static final int ROLLOUT_HORIZON = 10;
+    /** Seed of the strategy plot's mazes and fire, so reruns sweep the same trials. */
+    public static final long STRAT_PLOT_SEED = 1L;
+
+    /**
+     * Getter method for the current maze that the no-argument searches and strategies run on.
+     * @return The current maze.
+     */
+    public static Maze getMaze() {
+        return maze;
+    }
+
+    /**
+     * Setter method for the current maze (e.g. one made by createMaze or loaded by a benchmark).
+     * @param maze - The new current maze.
+     */
+    public static void setMaze(Maze maze) {
+        Main.maze = maze;
+    }
 
     /**
      * Generate dim x dim maze given (dim)ension and (den)sity.
@@ -25,18 +52,53 @@ public class Main {
      * @param onFire - Set random open spot on fire if true, ignore if false.
      */
     public static void generateMaze(int dim, double den, boolean onFire) {
-        maze = new int[dim][dim];
-        Random random = new Random();
+        maze = createMaze(dim, den, onFire);
+    }
 
-        for(int row = 0; row < maze.length; row++) {
-            for(int col = 0; col < maze[row].length; col++) {
+    /**
+     * Create a dim x dim maze given (dim)ension and (den)sity without touching Main.maze.
+     * Safe to call from several threads at once.
+     * @param dim - Dimension of maze.
+     * @param den - Obstacle density.
+     * @param onFire - Set random open spot on fire if true, ignore if false.
+     * @return The new maze.
+     */
+    public static Maze createMaze(int dim, double den, boolean onFire) {
+        return createMaze(dim, den, onFire, new SplittableRandom());
+    }
+
+    /**
+     * Create a maze from a seed; the same seed always gives the same maze.
+     * @param dim - Dimension of maze.
+     * @param den - Obstacle density.
+     * @param onFire - Set random open spot on fire if true, ignore if false.
+     * @param seed - Seed for the generator.
+     * @return The new maze.
+     */
+    public static Maze createMaze(int dim, double den, boolean onFire, long seed) {
+        return createMaze(dim, den, onFire, new SplittableRandom(seed));
+    }
+
+    /**
+     * Create a maze drawing every random number from the given generator.
+     * @param dim - Dimension of maze.
+     * @param den - Obstacle density.
+     * @param onFire - Set random open spot on fire if true, ignore if false.
+     * @param random - Generator owned by the caller (not shared between threads).
+     * @return The new maze.
+     */
+    public static Maze createMaze(int dim, double den, boolean onFire, SplittableRandom random) {
+        Maze maze = new Maze(dim);
+
+        for(int row = 0; row < maze.getDim(); row++) {
+            for(int col = 0; col < maze.getDim(); col++) {
                 // Exclude start and goal spaces.
                 if(!((row == 0 && col == 0) || (row == dim - 1 && col == dim - 1)) 
                     && random.nextDouble() <= den) { // nextDouble() generates double betw. 0.0 & 1.0.
-                        maze[row][col] = 2;
+                        maze.set(row, col, 2);
                 }
                 else {
-                    maze[row][col] = 0;
+                    maze.set(row, col, 0);
                 }
             }
         }
@@ -47,11 +109,12 @@ public class Main {
             int initFireJ;
             //randomly choose an i,j such that
             do {
-                initFireI = (int)(Math.random() * maze.length);
-                initFireJ = (int)(Math.random() * maze.length);
-            } while(maze[initFireI][initFireJ] == 2 || (initFireI == 0 && initFireJ == 0) || (initFireI == maze.length - 1 && initFireJ == maze.length - 1));
-            maze[initFireI][initFireJ] = 3;
+                initFireI = random.nextInt(maze.getDim());
+                initFireJ = random.nextInt(maze.getDim());
+            } while(maze.get(initFireI, initFireJ) == 2 || (initFireI == 0 && initFireJ == 0) || (initFireI == maze.getDim() - 1 && initFireJ == maze.getDim() - 1));
+            maze.set(initFireI, initFireJ, 3);
         }
+        return maze;
     }
 
     /**
@@ -136,16 +199,16 @@ public class Main {
      * @param row: indexes the current row
      * @param col: indexes the current column
      */ /*
-    public static void DFS(int[][] maze, int row, int col) {
+    public static void DFS(Maze maze, int row, int col) {
         //If we step out of bounds, or we reach something that has already been visited or is an obstacle, stop there
-        if(row < 0 || col < 0 || row > maze.length - 1 || col > maze[0].length - 1) {
+        if(row < 0 || col < 0 || row > maze.getDim() - 1 || col > maze.getDim() - 1) {
             return;
         }
-        if(maze[row][col] == 1 || maze[row][col] == 2) {
+        if(maze.get(row, col) == 1 || maze.get(row, col) == 2) {
             return;
         }
 
-        maze[row][col] = 1;
+        maze.set(row, col, 1);
         DFS(maze, row, col + 1); //step right
         DFS(maze, row, col - 1); //step left
         DFS(maze, row + 1, col); //step down
@@ -157,50 +220,10 @@ public class Main {
      * @return True if goal is reachable; false otherwise.
      */
     public static boolean DFSMaze() {
-        mazeSearched = copyMaze();   // Copy maze.
-        Stack<Index> stack = new Stack<Index>(); // Initialize fringe in the form of a stack.
-        stack.push(new Index(0, 0, 0, null)); // Start by pushing the source index.
-
-        while(!stack.isEmpty()) { // While stack is not empty ...
-            Index item = stack.pop();   // Current item.
-            mazeSearched[item.getRow()][item.getCol()] = 1; // Mark visited.
-
-            // If goal ...
-            if(item.getRow() == maze.length - 1 && item.getCol() == maze.length - 1) {
-                return true;
-            }
-
-            // Check neighbors of item.
-            // Check above item (row - 1, col).
-            if(item.getRow() - 1 >= 0) {   // Bound check.
-                if(mazeSearched[item.getRow() - 1][item.getCol()] == 0) {    // Check space type.
-                    stack.push(new Index(item.getRow() - 1, item.getCol(), item.getDistance() + 1, item));
-                }
-            }
-
-            // Check left of item (row, col - 1).
-            if(item.getCol() - 1 >= 0) {   // Bound check.
-                if(mazeSearched[item.getRow()][item.getCol() - 1] == 0) {    // Check space type.
-                    stack.push(new Index(item.getRow(), item.getCol() - 1, item.getDistance() + 1, item));
-                }
-            }
-
-            // Check right of item (row, col + 1).
-            if(item.getCol() + 1 < maze.length) {   // Bound check.
-                if(mazeSearched[item.getRow()][item.getCol() + 1] == 0) {    // Check space type.
-                    stack.push(new Index(item.getRow(), item.getCol() + 1, item.getDistance() + 1, item));
-                }
-            }
-
-            // Check below item (row + 1, col).
-            if(item.getRow() + 1 < maze.length) {   // Bound check.
-                if(mazeSearched[item.getRow() + 1][item.getCol()] == 0) {    // Check space type.
-                    stack.push(new Index(item.getRow() + 1, item.getCol(), item.getDistance() + 1, item));
-                }
-            }
-        }
-
-        return false;
+        boolean reachable = DFSEngine.search(maze, maze.getStart());
+        mazeSearched = copyMaze();   // Copy maze, only to show what was explored.
+        DFSEngine.markExplored(mazeSearched);
+        return reachable;
     }
 
     /**
@@ -209,95 +232,17 @@ public class Main {
      * @return Path information.
      */
     public static PathInfo BFSFromPosition(Index agent) {
-        mazeSearched = copyMaze();
-        Queue<Index> queue = new LinkedList<Index>();
-        mazeSearched[agent.getRow()][agent.getCol()] = 1;
-        queue.add(new Index(agent.getRow(), agent.getCol(), 0, null));
-
-        Index[][] indexMaze = new Index[mazeSearched.length][mazeSearched.length];
-        indexMaze[agent.getRow()][agent.getCol()] = new Index(agent.getRow(), agent.getCol(), 0, null);
-
-        while(!queue.isEmpty()) {
-            Index item = queue.remove();
-
-            //if goal...
-            if(item.getRow() == mazeSearched.length - 1 && item.getCol() == mazeSearched.length - 1) {
-                ArrayList<Index> shortestPath = new ArrayList<Index>();
-                Index current = indexMaze[mazeSearched.length - 1][mazeSearched.length - 1];
-
-                //Determine the exact route of the shortest path.
-                while(current.getRow() != agent.getRow() || current.getCol() != agent.getCol()) {
-                    shortestPath.add(current);
-                    current = current.getParent();
-                }
-                shortestPath.add(indexMaze[agent.getRow()][agent.getCol()]);
-                Collections.reverse(shortestPath);
-
-                //Determine the number of nodes visited by BFS.
-                int numNodesExplored = 0;
-                for(int i = 0; i < mazeSearched.length; i ++) {
-                    for(int j = 0; j < mazeSearched.length; j ++) {
-                        if(mazeSearched[i][j] == 1) {
-                            numNodesExplored ++;
-                        }
-                    }
-                }
-                // System.out.println("# Nodes Explored: " + numNodesExplored); //Use for extracting data for BFS
-
-                return new PathInfo(shortestPath, numNodesExplored);
-            }
-
-            // For all neighbors adjacent to item ... (item can have 0 - 4 viable neighbors)
-            // Check below item (row + 1, col).
-            if(item.getRow() + 1 < mazeSearched.length) {    // Bound check.
-                // If neighbor not marked explored ... (and not an obstacle)
-                if(mazeSearched[item.getRow() + 1][item.getCol()] < 1 && !(mazeSearched[item.getRow() + 1][item.getCol()] > 1)) {
-                    mazeSearched[item.getRow() + 1][item.getCol()] = 1;          // Mark explored ...
-                    indexMaze[item.getRow() + 1][item.getCol()] = new Index(item.getRow() + 1, item.getCol(), item.getDistance() + 1, item);
-                    queue.add(new Index(item.getRow() + 1, item.getCol(), item.getDistance() + 1, item)); // Add neighbor to queue.
-                }
-            }
-
-            // Check right of item (row, col + 1).
-            if(item.getCol() + 1 < mazeSearched.length) {    // Bound check.
-                // If neighbor not marked explored ... (and not an obstacle)
-                if(mazeSearched[item.getRow()][item.getCol() + 1] < 1 && !(mazeSearched[item.getRow()][item.getCol() + 1] > 1)) {
-                    mazeSearched[item.getRow()][item.getCol() + 1] = 1;          // Mark explored ...
-                    indexMaze[item.getRow()][item.getCol() + 1] = new Index(item.getRow(), item.getCol() + 1, item.getDistance() + 1, item);
-                    queue.add(new Index(item.getRow(), item.getCol() + 1, item.getDistance() + 1, item)); // Add neighbor to queue.
-                }
-            }
-
-            // Check left of item (row, col - 1).
-            if(item.getCol() - 1 >= 0) {    // Bound check.
-                // If neighbor not marked explored ... (and not an obstacle)
-                if(mazeSearched[item.getRow()][item.getCol() - 1] < 1 && !(mazeSearched[item.getRow()][item.getCol() - 1] > 1)) {
-                    mazeSearched[item.getRow()][item.getCol() - 1] = 1;          // Mark explored ...
-                    indexMaze[item.getRow()][item.getCol() - 1] = new Index(item.getRow(), item.getCol() - 1, item.getDistance() + 1, item);
-                    queue.add(new Index(item.getRow(), item.getCol() - 1, item.getDistance() + 1, item)); // Add neighbor to queue.
-                }
-            }
-
-            // Check above item (row - 1, col).
-            if(item.getRow() - 1 >= 0) {    // Bound check.
-                // If neighbor not marked explored ... (and not an obstacle)
-                if(mazeSearched[item.getRow() - 1][item.getCol()] < 1 && !(mazeSearched[item.getRow() - 1][item.getCol()] > 1)) {
-                    mazeSearched[item.getRow() - 1][item.getCol()] = 1;          // Mark explored ...
-                    indexMaze[item.getRow() - 1][item.getCol()] = new Index(item.getRow() - 1, item.getCol(), item.getDistance() + 1, item);
-                    queue.add(new Index(item.getRow() - 1, item.getCol(), item.getDistance() + 1, item)); // Add neighbor to queue.
-                }
-            }
-        }
+        return BFSFromPosition(maze, agent);
+    }
 
-        int numNodesExplored = 0;
-        for(int i = 0; i < mazeSearched.length; i ++) {
-            for(int j = 0; j < mazeSearched.length; j ++) {
-                if(mazeSearched[i][j] == 1) {
-                    numNodesExplored ++;
-                }
-            }
-        }
-        return new PathInfo(null, numNodesExplored);
+    /**
+     * Helper method for strategy. Runs the allocation-free BFS engine on the given maze.
+     * @param maze - Maze to search (e.g. a strategy's simulation with fire on it).
+     * @param agent - Location of agent.
+     * @return Path information.
+     */
+    public static PathInfo BFSFromPosition(Maze maze, Index agent) {
+        return BFSEngine.search(maze, maze.index(agent.getRow(), agent.getCol()));
     }
 
     /**
@@ -310,18 +255,18 @@ public class Main {
     public static PathInfo BFSMaze() {
         mazeSearched = copyMaze();                   // Copy maze.
         Queue<Index> queue = new LinkedList<Index>();   // Define queue.
-        mazeSearched[0][0] = 1;          // Mark (0, 0) explored.
+        mazeSearched.set(0, 0, 1);          // Mark (0, 0) explored.
         queue.add(new Index(0, 0, 0, null)); // Add index (0, 0) to queue.
 
-        Index[][] indexMaze = new Index[maze.length][maze[0].length];
+        Index[][] indexMaze = new Index[maze.getDim()][maze.getDim()];
         indexMaze[0][0] = new Index(0, 0, 0, null);
 
         // While queue is not empty ...
         while(!queue.isEmpty()) {
             Index item = queue.remove(); // Dequeue next item.
             //System.out.println(item); // DEBUG
-            // If item is (maze.length - 1, maze.length - 1) ...
-            if(item.getRow() == mazeSearched.length - 1 && item.getCol() == mazeSearched.length - 1) {
+            // If item is (maze.getDim() - 1, maze.getDim() - 1) ...
+            if(item.getRow() == mazeSearched.getDim() - 1 && item.getCol() == mazeSearched.getDim() - 1) {
                 /*
                 for(int i = 0; i < indexMaze.length; i ++) {
                     for(int j = 0; j < indexMaze[i].length; j ++) {
@@ -334,9 +279,9 @@ public class Main {
                 //Count the number of nodes explored by BFS
                 
                 int numNodesExplored = 0;
-                for(int i = 0; i < mazeSearched.length; i ++) {
-                    for(int j = 0; j < mazeSearched.length; j ++) {
-                        if(mazeSearched[i][j] == 1) {
+                for(int i = 0; i < mazeSearched.getDim(); i ++) {
+                    for(int j = 0; j < mazeSearched.getDim(); j ++) {
+                        if(mazeSearched.get(i, j) == 1) {
                             numNodesExplored ++;
                         }
                     }
@@ -348,20 +293,20 @@ public class Main {
 
             // For all neighbors adjacent to item ... (item can have 0 - 4 viable neighbors)
             // Check below item (row + 1, col).
-            if(item.getRow() + 1 < mazeSearched.length) {    // Bound check.
+            if(item.getRow() + 1 < mazeSearched.getDim()) {    // Bound check.
                 // If neighbor not marked explored ... (and not an obstacle)
-                if(mazeSearched[item.getRow() + 1][item.getCol()] < 1 && !(mazeSearched[item.getRow() + 1][item.getCol()] > 1)) {
-                    mazeSearched[item.getRow() + 1][item.getCol()] = 1;          // Mark explored ...
+                if(mazeSearched.get(item.getRow() + 1, item.getCol()) < 1 && !(mazeSearched.get(item.getRow() + 1, item.getCol()) > 1)) {
+                    mazeSearched.set(item.getRow() + 1, item.getCol(), 1);          // Mark explored ...
                     indexMaze[item.getRow() + 1][item.getCol()] = new Index(item.getRow() + 1, item.getCol(), item.getDistance() + 1, item);
                     queue.add(new Index(item.getRow() + 1, item.getCol(), item.getDistance() + 1, item)); // Add neighbor to queue.
                 }
             }
             
             // Check right of item (row, col + 1).
-            if(item.getCol() + 1 < mazeSearched.length) {    // Bound check.
+            if(item.getCol() + 1 < mazeSearched.getDim()) {    // Bound check.
                 // If neighbor not marked explored ... (and not an obstacle)
-                if(mazeSearched[item.getRow()][item.getCol() + 1] < 1 && !(mazeSearched[item.getRow()][item.getCol() + 1] > 1)) {
-                    mazeSearched[item.getRow()][item.getCol() + 1] = 1;          // Mark explored ...
+                if(mazeSearched.get(item.getRow(), item.getCol() + 1) < 1 && !(mazeSearched.get(item.getRow(), item.getCol() + 1) > 1)) {
+                    mazeSearched.set(item.getRow(), item.getCol() + 1, 1);          // Mark explored ...
                     indexMaze[item.getRow()][item.getCol() + 1] = new Index(item.getRow(), item.getCol() + 1, item.getDistance() + 1, item);
                     queue.add(new Index(item.getRow(), item.getCol() + 1, item.getDistance() + 1, item)); // Add neighbor to queue.
                 }
@@ -370,8 +315,8 @@ public class Main {
             // Check left of item (row, col - 1).
             if(item.getCol() - 1 >= 0) {    // Bound check.
                 // If neighbor not marked explored ... (and not an obstacle)
-                if(mazeSearched[item.getRow()][item.getCol() - 1] < 1 && !(mazeSearched[item.getRow()][item.getCol() - 1] > 1)) {
-                    mazeSearched[item.getRow()][item.getCol() - 1] = 1;          // Mark explored ...
+                if(mazeSearched.get(item.getRow(), item.getCol() - 1) < 1 && !(mazeSearched.get(item.getRow(), item.getCol() - 1) > 1)) {
+                    mazeSearched.set(item.getRow(), item.getCol() - 1, 1);          // Mark explored ...
                     indexMaze[item.getRow()][item.getCol() - 1] = new Index(item.getRow(), item.getCol() - 1, item.getDistance() + 1, item);
                     queue.add(new Index(item.getRow(), item.getCol() - 1, item.getDistance() + 1, item)); // Add neighbor to queue.
                 }
@@ -380,8 +325,8 @@ public class Main {
             // Check above item (row - 1, col).
             if(item.getRow() - 1 >= 0) {    // Bound check.
                 // If neighbor not marked explored ... (and not an obstacle)
-                if(mazeSearched[item.getRow() - 1][item.getCol()] < 1 && !(mazeSearched[item.getRow() - 1][item.getCol()] > 1)) {
-                    mazeSearched[item.getRow() - 1][item.getCol()] = 1;          // Mark explored ...
+                if(mazeSearched.get(item.getRow() - 1, item.getCol()) < 1 && !(mazeSearched.get(item.getRow() - 1, item.getCol()) > 1)) {
+                    mazeSearched.set(item.getRow() - 1, item.getCol(), 1);          // Mark explored ...
                     indexMaze[item.getRow() - 1][item.getCol()] = new Index(item.getRow() - 1, item.getCol(), item.getDistance() + 1, item);
                     queue.add(new Index(item.getRow() - 1, item.getCol(), item.getDistance() + 1, item)); // Add neighbor to queue.
                 }
@@ -389,9 +334,9 @@ public class Main {
         }
         //printMaze(mazeSearched); // DEBUG
         int numNodesExplored = 0;
-        for(int i = 0; i < mazeSearched.length; i ++) {
-            for(int j = 0; j < mazeSearched.length; j ++) {
-                if(mazeSearched[i][j] == 1) {
+        for(int i = 0; i < mazeSearched.getDim(); i ++) {
+            for(int j = 0; j < mazeSearched.getDim(); j ++) {
+                if(mazeSearched.get(i, j) == 1) {
                     numNodesExplored ++;
                 }
             }
@@ -402,63 +347,23 @@ public class Main {
     }
 
     /**
-     * Helper method to check neighbors & add to queue.
-     * @param item - Current item.
-     * @param queue - The queue to add neighbors to.
+     * BFS search for goal, growing frontiers from both (0, 0) and the goal until they meet.
+     * @return a container with the shortestPath to follow and the number of nodes explored by both frontiers.
      */
-    private static void AStarCheckNeighbors(int[][] maze, Index[][] indexMaze, Index item, PriorityQueue<Index> queue, Index agent) {
-        Index start;
-        if(agent != null) {
-            start = new Index(agent.getRow(), agent.getCol(), 0, null);
-        }
-        else {
-            start = new Index(0, 0, 0, null);
-        }
-        Index goal = new Index(maze.length - 1, maze.length - 1, 0, null);
-
-        // Check neighbor below item. (row + 1, col)
-        if(item.getRow() + 1 < maze.length && maze[item.getRow() + 1][item.getCol()] == 0) {    // Bound check & not visited.
-            maze[item.getRow() + 1][item.getCol()] = 1; // Mark visited.
-            Index neighbor = new Index(item.getRow() + 1, item.getCol(), 0, item);
-            neighbor.setDist(Index.distTwoPoints(start, neighbor)); // Set Euclidean distance.
-            neighbor.setScore(Index.distTwoPoints(item, neighbor) + Index.distTwoPoints(neighbor, goal) + countFireNeighbors(maze, neighbor.getRow(), neighbor.getCol())); // f(n) = g(n) + h(n)
-            queue.add(neighbor);
-
-            indexMaze[neighbor.getRow()][neighbor.getCol()] = neighbor;
-        }
-
-        // Check neighbor right of item. (row, col + 1)
-        if(item.getCol() + 1 < maze.length && maze[item.getRow()][item.getCol() + 1] == 0) {    // Bound check & not visited.
-            maze[item.getRow()][item.getCol() + 1] = 1; // Mark visited.
-            Index neighbor = new Index(item.getRow(), item.getCol() + 1, 0, item);
-            neighbor.setDist(Index.distTwoPoints(start, neighbor)); // Set Euclidean distance.
-            neighbor.setScore(Index.distTwoPoints(item, neighbor) + Index.distTwoPoints(neighbor, goal) + countFireNeighbors(maze, neighbor.getRow(), neighbor.getCol())); // f(n) = g(n) + h(n)
-            queue.add(neighbor);
-
-            indexMaze[neighbor.getRow()][neighbor.getCol()] = neighbor;
-        }
-
-        // Check neighbor left of item. (row, col - 1)
-        if(item.getCol() - 1 >= 0 && maze[item.getRow()][item.getCol() - 1] == 0) {    // Bound check & not visited.
-            maze[item.getRow()][item.getCol() - 1] = 1; // Mark visited.
-            Index neighbor = new Index(item.getRow(), item.getCol() - 1, 0, item);
-            neighbor.setDist(Index.distTwoPoints(start, neighbor)); // Set Euclidean distance.
-            neighbor.setScore(Index.distTwoPoints(item, neighbor) + Index.distTwoPoints(neighbor, goal) + countFireNeighbors(maze, neighbor.getRow(), neighbor.getCol())); // f(n) = g(n) + h(n)
-            queue.add(neighbor);
-
-            indexMaze[neighbor.getRow()][neighbor.getCol()] = neighbor;
-        }
-
-        // Check neighbor above item. (row - 1, col)
-        if(item.getRow() - 1 >= 0 && maze[item.getRow() - 1][item.getCol()] == 0) {    // Bound check & not visited.
-            maze[item.getRow() - 1][item.getCol()] = 1; // Mark visited.
-            Index neighbor = new Index(item.getRow() - 1, item.getCol(), 0, item);
-            neighbor.setDist(Index.distTwoPoints(start, neighbor)); // Set Euclidean distance.
-            neighbor.setScore(Index.distTwoPoints(item, neighbor) + Index.distTwoPoints(neighbor, goal) + countFireNeighbors(maze, neighbor.getRow(), neighbor.getCol())); // f(n) = g(n) + h(n)
-            queue.add(neighbor);
+    public static PathInfo BidirectionalBFSMaze() {
+        PathInfo pathInfo = BFSEngine.searchBidirectional(maze, maze.getStart());
+        mazeSearched = copyMaze();
+        SearchWorkspace.get().markExplored(mazeSearched); // For printing, like AStarMaze.
+        return pathInfo;
+    }
 
-            indexMaze[neighbor.getRow()][neighbor.getCol()] = neighbor;
-        }
+    /**
+     * BFS search for goal with each level spread over the common fork-join pool, for single very large mazes.
+     * Makes no explored copy for printing; at that size it would not be readable anyway.
+     * @return a container with the shortestPath to follow and the number of nodes explored by BFS.
+     */
+    public static PathInfo ParallelBFSMaze() {
+        return new ParallelBFS().search(maze, maze.getStart());
     }
 
     /**
@@ -467,61 +372,18 @@ public class Main {
      * @return a container with the shortestPath to follow and the number of nodes explored by A*.
      */
     public static PathInfo AStarFromPosition(Index agent) {
-        mazeSearched = copyMaze();
-        Index[][] indexMaze = new Index[mazeSearched.length][mazeSearched[0].length];
-        PriorityQueue<Index> minHeap = new PriorityQueue<Index>();
-        mazeSearched[agent.getRow()][agent.getCol()] = 1; // Mark start visited.
-        indexMaze[0][0] = new Index(agent.getRow(), agent.getCol(), 0, null);
-        minHeap.add(new Index(agent.getRow(), agent.getCol(), 0, null));  // Add start to queue.
-
-        // While heap is not empty ...
-        while(!(minHeap.isEmpty())) {
-            Index item = minHeap.remove();  // Remove item from queue.
-
-            // If goal ...
-            if(item.getRow() == mazeSearched.length - 1 && item.getCol() == mazeSearched.length - 1) {
-                //printMazeASCII(mazeSearched); // DEBUG
-                ArrayList<Index> shortestPath = new ArrayList<Index>();
-                Index current = indexMaze[mazeSearched.length - 1][mazeSearched.length - 1];
-
-                //Determine the exact route of the shortest path.
-                while(current.getRow() != agent.getRow() || current.getCol() != agent.getCol()) {
-                    shortestPath.add(current);
-                    current = current.getParent();
-                }
-                shortestPath.add(indexMaze[agent.getRow()][agent.getCol()]);
-                Collections.reverse(shortestPath);
-
-                //Determine the number of nodes visited by A*.
-                int numNodesExplored = 0;
-                for(int i = 0; i < mazeSearched.length; i ++) {
-                    for(int j = 0; j < mazeSearched.length; j ++) {
-                        if(mazeSearched[i][j] == 1) {
-                            numNodesExplored ++;
-                        }
-                    }
-                }
-                // System.out.println("# Nodes Explored: " + numNodesExplored); //Use for extracting data for A*
-
-                return new PathInfo(shortestPath, numNodesExplored);
-            }
-
-            // Check neighbors of item.
-            AStarCheckNeighbors(mazeSearched, indexMaze, item, minHeap, agent);
-        }
-
-        //printMaze(mazeSearched); // DEBUG
-        int numNodesExplored = 0;
-        for(int i = 0; i < mazeSearched.length; i ++) {
-            for(int j = 0; j < mazeSearched.length; j ++) {
-                if(mazeSearched[i][j] == 1) {
-                    numNodesExplored ++;
-                }
-            }
-        }
-        //System.out.println("# Nodes Explored: " + numNodesExplored); //Use for extracting data for A*
+        return AStarFromPosition(maze, agent);
+    }
 
-        return new PathInfo(null, numNodesExplored);
+    /**
+     * Method that runs the A* search algorithm from a specified position on the given maze.
+     * Uses the indexed-heap engine with a Manhattan heuristic; stepping next to fire costs extra.
+     * @param maze - Maze to search (e.g. a strategy's simulation with fire on it).
+     * @param agent - The agent's position in the maze.
+     * @return a container with the shortestPath to follow and the number of nodes explored by A*.
+     */
+    public static PathInfo AStarFromPosition(Maze maze, Index agent) {
+        return AStarEngine.search(maze, maze.index(agent.getRow(), agent.getCol()), maze.getGoal(), true);
     }
 
     /**
@@ -532,61 +394,32 @@ public class Main {
      * @return True if goal is reachable; false otherwise.
      */
     public static PathInfo AStarMaze() {
+        PathInfo pathInfo = AStarFromPosition(maze, new Index(0, 0));
         mazeSearched = copyMaze();
-        Index[][] indexMaze = new Index[mazeSearched.length][mazeSearched[0].length];
-        PriorityQueue<Index> minHeap = new PriorityQueue<Index>();
-        mazeSearched[0][0] = 1; // Mark start visited.
-        indexMaze[0][0] = new Index(0, 0, 0, null);
-        minHeap.add(new Index(0, 0, 0, null));  // Add start to queue.
-        
-        // While heap is not empty ...
-        while(!(minHeap.isEmpty())) {
-            Index item = minHeap.remove();  // Remove item from queue.
-
-            // If goal ...
-            if(item.getRow() == mazeSearched.length - 1 && item.getCol() == mazeSearched.length - 1) {
-                //printMazeASCII(mazeSearched); // DEBUG
-                ArrayList<Index> shortestPath = new ArrayList<Index>();
-                Index current = indexMaze[mazeSearched.length - 1][mazeSearched.length - 1];
-
-                //Determine the exact route of the shortest path.
-                while(current.getRow() != 0 || current.getCol() != 0) {
-                    shortestPath.add(current);
-                    current = current.getParent();
-                }
-                shortestPath.add(indexMaze[0][0]);
-                Collections.reverse(shortestPath);
-
-                //Determine the number of nodes visited by A*.
-                int numNodesExplored = 0;
-                for(int i = 0; i < mazeSearched.length; i ++) {
-                    for(int j = 0; j < mazeSearched.length; j ++) {
-                        if(mazeSearched[i][j] == 1) {
-                            numNodesExplored ++;
-                        }
-                    }
-                }
-                // System.out.println("# Nodes Explored: " + numNodesExplored); //Use for extracting data for A*
-
-                return new PathInfo(shortestPath, numNodesExplored);
-            }
-
-            // Check neighbors of item.
-            AStarCheckNeighbors(mazeSearched, indexMaze, item, minHeap, null);
-        }
+        SearchWorkspace.get().markExplored(mazeSearched); // For the pa/pra print commands.
+        return pathInfo;
+    }
 
-        //printMaze(mazeSearched); // DEBUG
-        int numNodesExplored = 0;
-        for(int i = 0; i < mazeSearched.length; i ++) {
-            for(int j = 0; j < mazeSearched.length; j ++) {
-                if(mazeSearched[i][j] == 1) {
-                    numNodesExplored ++;
-                }
-            }
-        }
-        //System.out.println("# Nodes Explored: " + numNodesExplored); //Use for extracting data for A*
+    /**
+     * Method that runs Jump Point Search from a specified position on the given maze.
+     * Same path length as BFS or A*; the nodes explored are the jump points expanded.
+     * @param maze - Maze to search.
+     * @param agent - The agent's position in the maze.
+     * @return a container with the shortestPath to follow and the number of jump points expanded.
+     */
+    public static PathInfo JPSFromPosition(Maze maze, Index agent) {
+        return JPSEngine.search(maze, maze.index(agent.getRow(), agent.getCol()), maze.getGoal());
+    }
 
-        return new PathInfo(null, numNodesExplored);
+    /**
+     * Jump Point Search for goal.
+     * @return a container with the shortestPath to follow and the number of jump points expanded.
+     */
+    public static PathInfo JPSMaze() {
+        PathInfo pathInfo = JPSFromPosition(maze, new Index(0, 0));
+        mazeSearched = copyMaze();
+        SearchWorkspace.get().markExplored(mazeSearched); // Marks the jump points, for printing.
+        return pathInfo;
     }
 
     /**
@@ -596,31 +429,8 @@ public class Main {
      * @param col - The column index of the current maze.
      * @return Number of neighbors that are on fire.
      */
-    public static int countFireNeighbors(int[][] maze, int row, int col) {
-        int k = 0; //num of neighbors on fire
-
-        if(row - 1 >= 0) { //check if left is in bounds
-            if(maze[row - 1][col] == 3) { //check if left is on fire
-                k ++;
-            }
-        }
-        if(row + 1 < maze.length) { //check if right is in bounds
-            if(maze[row + 1][col] == 3) { //check if right is on fire
-                k ++;
-            }
-        }
-        if(col - 1 >= 0) { //check if up is in bounds
-            if(maze[row][col - 1] == 3) { //check if up is on fire
-                k ++;
-            }
-        }
-        if(col + 1 < maze[col].length) { //check if down is in bounds
-            if(maze[row][col + 1] == 3) { //check if down is on fire
-                k ++;
-            }
-        }
-
-        return k;
+    public static int countFireNeighbors(Maze maze, int row, int col) {
+        return maze.countFireNeighbors(maze.index(row, col));
     }
 
     /**
@@ -629,21 +439,32 @@ public class Main {
      * 1 - (1 - q)^k
      * @param q - Flammability rate; 0.0 < q < 1.0.
      */
-    public static void advanceFireOneStep(int[][] maze, double q) {
-        Random random = new Random();
+    public static void advanceFireOneStep(Maze maze, double q) {
+        advanceFireOneStep(maze, q, new SplittableRandom());
+    }
+
+    /**
+     * Advances fire one step in current maze, drawing from the given generator.
+     * One number is drawn per burnable space regardless of where the agent is,
+     * so two runs seeded alike see the same fire.
+     * @param q - Flammability rate; 0.0 < q < 1.0.
+     * @param random - Generator owned by the caller.
+     */
+    public static void advanceFireOneStep(Maze maze, double q, SplittableRandom random) {
+        double[] ignition = FireSimulator.ignitionProbabilities(q);
 
-        for(int row = 0; row < maze.length; row++) {
-            for(int col = 0; col < maze.length; col++) {
+        for(int row = 0; row < maze.getDim(); row++) {
+            for(int col = 0; col < maze.getDim(); col++) {
                 // If (x, y) is not on fire or an obstacle...
-                if(maze[row][col] != 3 && maze[row][col] != 2) {
+                if(maze.get(row, col) != 3 && maze.get(row, col) != 2) {
                     // Count number of neighbors of (x, y) that are on fire.
                     // The higher the value, the likelier (x, y) will catch fire.
                     int k = countFireNeighbors(maze, row, col);
-                    double prob = 1 - Math.pow((1 - q), k);
-                    
+                    double prob = ignition[k];
+
                     // Mark space on fire.
                     if(random.nextDouble() <= prob) {
-                        maze[row][col] = 3;
+                        maze.set(row, col, 3);
                     }
                 }
             }
@@ -651,29 +472,76 @@ public class Main {
     }
 
     /**
-     * Makes a copy of the maze.
-     * @return Copy of maze.
+     * Advances fire one step with double buffering: the fire at time t is read from current
+     * and the fire at time t + 1 is written into next, so a space that catches fire this step
+     * cannot spread it further until the next step. Swap the two mazes after each call.
+     * @param current - Maze at time t; not modified.
+     * @param next - Maze of the same dimension; overwritten with time t + 1.
+     * @param ignition - Probability of catching fire for k = 0 to 4, from FireSimulator.ignitionProbabilities(q).
+     * @param random - Generator owned by the caller.
      */
-    public static int[][] copyMaze() {
-        int[][] copy = new int[maze.length][maze.length];
-
-        for(int row = 0; row < copy.length; row++) {
-            for(int col = 0; col < copy[row].length; col++) {
-                copy[row][col] = maze[row][col];
+    public static void advanceFireOneStep(Maze current, Maze next, double[] ignition, SplittableRandom random) {
+        // Build current's counts before the copy, so next gets them and keeps them up to date as it burns.
+        current.countFireNeighbors(0);
+        current.copyInto(next);
+        for(int cell = 0; cell < current.size(); cell++) {
+            int k = current.countFireNeighbors(cell);
+            // No draw when no neighbor burns; it cannot catch fire. Most spaces stop here on the count alone.
+            if(k == 0) {
+                continue;
+            }
+            byte space = current.get(cell);
+            // If (x, y) is not on fire or an obstacle...
+            if(space != Maze.FIRE && space != Maze.OBSTACLE && random.nextDouble() < ignition[k]) {
+                next.set(cell, Maze.FIRE);
             }
         }
+    }
 
-        return copy;
+    /**
+     * Picks the fire engine for a strategy's simulation.
+     * Low flammability keeps the fire small, so the frontier simulator touches few spaces;
+     * high flammability burns through big areas, where 64-spaces-per-word bitboards win.
+     * @param mazeSim - Maze to burn.
+     * @param q - Flammability rate.
+     * @param random - Generator owned by the caller.
+     * @return The fire engine.
+     */
+    public static FireModel createFireModel(Maze mazeSim, double q, SplittableRandom random) {
+        if(q >= BIT_FIRE_MIN_Q) {
+            return new BitFireEngine(mazeSim, q, random);
+        }
+        return new FireSimulator(mazeSim, q, random);
+    }
+
+    /**
+     * Method to pick the planner for a strategy that re-plans as the fire spreads.
+     * @param mazeSim - The strategy's maze.
+     * @return HPA* on very large mazes, the distance field otherwise.
+     */
+    public static Replanner createReplanner(Maze mazeSim) {
+        if(mazeSim.getDim() >= HPA_MIN_DIM) {
+            return new HPAStar(mazeSim, mazeSim.getStart());
+        }
+        return new DistanceField(mazeSim, mazeSim.getStart());
+    }
+
+    /**
+     * Makes a copy of the maze.
+     * @return Copy of maze.
+     */
+    public static Maze copyMaze() {
+        return maze.copy();
     }
 
     /**
      * Prints maze for debugging.
      * @param maze - Maze to print.
      */
-    public static void printMaze(int[][] maze) {
-        for(int row = 0; row < maze.length; row++) {
-            for(int col = 0; col < maze[row].length; col++) {
-                System.out.print(maze[row][col] + " ");
+    public static void printMaze(Maze maze) {
+        for(int row = 0; row < maze.getDim(); row++) {
+            for(int col = 0; col < maze.getDim(); col++) {
+                System.out.print(maze.get(row, col) + " ");
             }
             System.out.println();
         }
@@ -683,18 +551,18 @@ public class Main {
      * Basically prints a more readable maze.
      * @param maze - Maze to print.
      */
-    public static void printMazeASCII(int[][] maze) {
-        for(int row = 0; row < maze.length; row++) {
-            for(int col = 0; col < maze[row].length; col++) {
+    public static void printMazeASCII(Maze maze) {
+        for(int row = 0; row < maze.getDim(); row++) {
+            for(int col = 0; col < maze.getDim(); col++) {
                 
-                if(maze[row][col] == 0) {
+                if(maze.get(row, col) == 0) {
                     System.out.print("\u2591\u2591");
-                } else if(maze[row][col] == 1) {
+                } else if(maze.get(row, col) == 1) {
                     System.out.print("\u2593\u2593");
-                } else if(maze[row][col] == 2) {
+                } else if(maze.get(row, col) == 2) {
                     System.out.print("\u2588\u2588");
                 } else {    // Everything else for now.
-                    System.out.print(maze[row][col] + " ");
+                    System.out.print(maze.get(row, col) + " ");
                 }
             }
             System.out.println();
@@ -705,22 +573,22 @@ public class Main {
      * Prints ASCII representation of current maze to output.txt.
      * @param maze - Maze to print.
      */
-    public static void printMazeASCIIToOutput(int[][] maze) {
+    public static void printMazeASCIIToOutput(Maze maze) {
         try {
             File file = new File("./output.txt");
             BufferedWriter writer = new BufferedWriter(new FileWriter(file));
 
-            for(int row = 0; row < maze.length; row++) {
-                for(int col = 0; col < maze[row].length; col++) {
+            for(int row = 0; row < maze.getDim(); row++) {
+                for(int col = 0; col < maze.getDim(); col++) {
                     
-                    if(maze[row][col] == 0) {
+                    if(maze.get(row, col) == 0) {
                         writer.write("░░");
-                    } else if(maze[row][col] == 1) {
+                    } else if(maze.get(row, col) == 1) {
                         writer.write("▓▓");
-                    } else if(maze[row][col] == 2) {
+                    } else if(maze.get(row, col) == 2) {
                         writer.write("██");
                     } else {    // Everything else for now.
-                        writer.write(maze[row][col] + " ");
+                        writer.write(maze.get(row, col) + " ");
                     }
                 }
                 writer.write("\n");
@@ -738,34 +606,78 @@ public class Main {
      * @return true if the agent reaches the end, false otherwise.
      */
     public static boolean stratOne(double q) {
+        return stratOne(maze, q);
+    }
+
+    /**
+     * Method that implements Strategy One of stepping through the maze.
+     * @param maze - The maze to run on; it is copied, not modified.
+     * @param q - The flammability.
+     * @return true if the agent reaches the end, false otherwise.
+     */
+    public static boolean stratOne(Maze maze, double q) {
+        return stratOne(maze, q, new SplittableRandom());
+    }
+
+    /**
+     * Method that implements Strategy One of stepping through the maze.
+     * @param maze - The maze to run on; it is copied, not modified.
+     * @param q - The flammability.
+     * @param random - Generator for the fire spread.
+     * @return true if the agent reaches the end, false otherwise.
+     */
+    public static boolean stratOne(Maze maze, double q, SplittableRandom random) {
+        Maze mazeSim = maze.copy();
+        return stratOne(mazeSim, createFireModel(mazeSim, q, random));
+    }
+
+    /**
+     * Method that implements Strategy One of stepping through the maze, with every strategy facing the same fire.
+     * @param maze - The maze to run on; it is copied, not modified.
+     * @param field - Pre-sampled fire, replayed onto the copy.
+     * @return true if the agent reaches the end, false otherwise.
+     */
+    public static boolean stratOne(Maze maze, IgnitionField field) {
+        Maze mazeSim = maze.copy();
+        return stratOne(mazeSim, field.replay(mazeSim));
+    }
+
+    /**
+     * Method that implements Strategy One of stepping through the maze.
+     * @param mazeSim - The maze to run on; the fire is written into it.
+     * @param fire - Fire spreading through mazeSim.
+     * @return true if the agent reaches the end, false otherwise.
+     */
+    public static boolean stratOne(Maze mazeSim, FireModel fire) {
         /*  STRATEGY ONE  */
         //At the start of the maze, wherever the fire is, solve for the shortest path from upper left to lower right,
         // and follow it until the agent exits the maze or burns
 
-        //Get pathInfo from BFS.
-        PathInfo pathInfo = BFSMaze();
-        int[][] mazeSim = copyMaze();
+        //Get the path from the distance field; the fire is never reported to it, so it never re-plans.
+        Replanner planner = new DistanceField(mazeSim, mazeSim.getStart());
+        if(!planner.replan()) {
+            return false;
+        }
 
         //have the agent start at the starting point, and have them step through.
         Index agent = new Index(0, 0);
-        int i = 1;
-        while(agent.getRow() != mazeSim.length - 1 || agent.getCol() != mazeSim.length - 1) {
-            Index nextSpot = pathInfo.getShortestPath().get(i); //object that obtains the next spot to move to in the shortestPath
-            agent.setRow(nextSpot.getRow()); //agent steps to nextSpot's row
-            agent.setCol(nextSpot.getCol()); //agent steps to nextSpot's col
+        while(agent.getRow() != mazeSim.getDim() - 1 || agent.getCol() != mazeSim.getDim() - 1) {
+            int nextSpot = planner.nextStep(); //the next spot to move to in the shortest path
+            agent.setRow(mazeSim.rowOf(nextSpot)); //agent steps to nextSpot's row
+            agent.setCol(mazeSim.colOf(nextSpot)); //agent steps to nextSpot's col
+            planner.moveAgent(nextSpot);
             //System.out.println("Agent has stepped to: " + agent); //debug
 
-            if(mazeSim[agent.getRow()][agent.getCol()] == 3) { //check if the spot the agent just moved to is on fire
+            if(mazeSim.get(agent.getRow(), agent.getCol()) == 3) { //check if the spot the agent just moved to is on fire
                 //System.out.println("Agent has stepped in fire."); //debug
                 //printMaze(maze); //debug
                 return false; //the task is over once the agent steps into fire
             }
-            advanceFireOneStep(mazeSim, q); //agent has stepped once, now the fire has to advance once
-            if(mazeSim[agent.getRow()][agent.getCol()] == 3) { //check if the fire has spread onto the agent
+            fire.step(); //agent has stepped once, now the fire has to advance once
+            if(mazeSim.get(agent.getRow(), agent.getCol()) == 3) { //check if the fire has spread onto the agent
                 //System.out.println("Fire has spread to agent."); //debug
                 return false;
             }
-            i ++;
         }
 
         //System.out.println("Agent has reached the end."); //debug
@@ -773,44 +685,132 @@ public class Main {
         return true;
     }
 
+    /**
+     * Method that estimates Strategy One's success rate on a maze over many fires, 64 at a time.
+     * Strategy One's path never changes, so it is found once and walked through every realization of a
+     * BitSlicedFire together; the agent survives a realization if no space is on fire when it stands there.
+     * @param maze - The maze to run on; it is not modified.
+     * @param q - The flammability.
+     * @param numRollouts - Number of fires to sample.
+     * @param random - Generator for the fire spread.
+     * @return Fraction of the fires the agent reaches the end through.
+     */
+    public static double stratOneSurvival(Maze maze, double q, int numRollouts, SplittableRandom random) {
+        Replanner planner = new DistanceField(maze, maze.getStart());
+        if(!planner.replan()) {
+            return 0.0;
+        }
+        int[] path = new int[maze.getDim()];
+        int length = 0;
+        for(int cell = maze.getStart(); cell != maze.getGoal(); length++) {
+            cell = planner.nextStep();
+            planner.moveAgent(cell);
+            if(length == path.length) {
+                path = Arrays.copyOf(path, length * 2);
+            }
+            path[length] = cell;
+        }
+
+        int survived = 0;
+        BitSlicedFire fire = new BitSlicedFire(maze, q, random);
+        for(int done = 0; done < numRollouts; done += BitSlicedFire.REALIZATIONS) {
+            int batch = Math.min(BitSlicedFire.REALIZATIONS, numRollouts - done);
+            long alive = batch == BitSlicedFire.REALIZATIONS ? -1L : (1L << batch) - 1; // One bit per realization still walking.
+            if(done > 0) {
+                fire.reset(maze, q, random); //reuse the grids of the last batch
+            }
+            for(int t = 0; t < length && alive != 0; t++) {
+                fire.step(); //the agent has stepped to path[t], now the fire advances once
+                alive &= ~fire.getFire(path[t]);
+            }
+            survived += Long.bitCount(alive);
+        }
+        return (double) survived / numRollouts;
+    }
+
     /**
      * Method that implements Strategy Two of stepping through the maze.
      * @param q - The flammability.
      * @return true if the agent reaches the end, false otherwise.
      */
     public static boolean stratTwo(double q) {
+        return stratTwo(maze, q);
+    }
+
+    /**
+     * Method that implements Strategy Two of stepping through the maze.
+     * @param maze - The maze to run on; it is copied, not modified.
+     * @param q - The flammability.
+     * @return true if the agent reaches the end, false otherwise.
+     */
+    public static boolean stratTwo(Maze maze, double q) {
+        return stratTwo(maze, q, new SplittableRandom());
+    }
+
+    /**
+     * Method that implements Strategy Two of stepping through the maze.
+     * @param maze - The maze to run on; it is copied, not modified.
+     * @param q - The flammability.
+     * @param random - Generator for the fire spread.
+     * @return true if the agent reaches the end, false otherwise.
+     */
+    public static boolean stratTwo(Maze maze, double q, SplittableRandom random) {
+        Maze mazeSim = maze.copy();
+        return stratTwo(mazeSim, createFireModel(mazeSim, q, random));
+    }
+
+    /**
+     * Method that implements Strategy Two of stepping through the maze, with every strategy facing the same fire.
+     * @param maze - The maze to run on; it is copied, not modified.
+     * @param field - Pre-sampled fire, replayed onto the copy.
+     * @return true if the agent reaches the end, false otherwise.
+     */
+    public static boolean stratTwo(Maze maze, IgnitionField field) {
+        Maze mazeSim = maze.copy();
+        return stratTwo(mazeSim, field.replay(mazeSim));
+    }
+
+    /**
+     * Method that implements Strategy Two of stepping through the maze.
+     * @param mazeSim - The maze to run on; the fire is written into it.
+     * @param fire - Fire spreading through mazeSim.
+     * @return true if the agent reaches the end, false otherwise.
+     */
+    public static boolean stratTwo(Maze mazeSim, FireModel fire) {
         // At every time step, re-compute the shortest path from the agent’s current position to the goal position, based on  the  current  state  of  the  maze  and  the  fire.
         // Follow  this  new  path  one  time  step,  then  re-compute.
         // This strategy constantly re-adjusts its plan based on the evolution of the fire.
         // If the agent gets trapped with no path to the goal, it dies.
 
-        //Get pathInfo from BFS.
-        PathInfo pathInfo = BFSMaze();
-        int[][] mazeSim = copyMaze();
+        //Plan with the distance field (HPA* on very large mazes); it only re-plans when the fire cuts the current plan.
+        Replanner planner = createReplanner(mazeSim);
+        if(!planner.replan()) {
+            return false;
+        }
 
         Index agent = new Index(0, 0);
-        while(agent.getRow() != mazeSim.length - 1 || agent.getCol() != mazeSim.length - 1) {
-            Index nextSpot = pathInfo.getShortestPath().get(1);
-            agent.setRow(nextSpot.getRow());
-            agent.setCol(nextSpot.getCol());
+        while(agent.getRow() != mazeSim.getDim() - 1 || agent.getCol() != mazeSim.getDim() - 1) {
+            int nextSpot = planner.nextStep();
+            agent.setRow(mazeSim.rowOf(nextSpot));
+            agent.setCol(mazeSim.colOf(nextSpot));
+            planner.moveAgent(nextSpot);
 
-            if(mazeSim[agent.getRow()][agent.getCol()] == 3) {
+            if(mazeSim.get(agent.getRow(), agent.getCol()) == 3) {
                 //System.out.println("Agent has stepped in fire."); //debug
                 return false;
             }
 
             //Determine after the fire if maze is still solvable
-            advanceFireOneStep(mazeSim, q);
-            if(mazeSim[agent.getRow()][agent.getCol()] == 3) {
+            fire.step();
+            if(mazeSim.get(agent.getRow(), agent.getCol()) == 3) {
                 //System.out.println("Fire has spread to agent."); //debug
                 return false;
             }
-            PathInfo newPath = BFSFromPosition(agent);
-            if(newPath.getShortestPath() == null) {
+            reportFire(fire, planner);
+            if(!planner.replan()) {
                 //System.out.println("Maze no longer solvable."); //debug
                 return false;
             }
-            pathInfo = newPath;
         }
 
         //System.out.println("Agent has exited the maze."); //debug
@@ -823,55 +823,99 @@ public class Main {
      * @return true if the agent reaches the end, false otherwise.
      */
     public static boolean stratThree(double q) {
-        //Get pathInfo from BFS.
-        PathInfo pathInfo = BFSMaze();
-        int[][] mazeSim = copyMaze();
+        return stratThree(maze, q);
+    }
+
+    /**
+     * Method that implements Strategy 3 of stepping through the maze.
+     * @param maze - The maze to run on; it is copied, not modified.
+     * @param q - The flammability.
+     * @return true if the agent reaches the end, false otherwise.
+     */
+    public static boolean stratThree(Maze maze, double q) {
+        return stratThree(maze, q, new SplittableRandom());
+    }
+
+    /**
+     * Method that implements Strategy 3 of stepping through the maze.
+     * @param maze - The maze to run on; it is copied, not modified.
+     * @param q - The flammability.
+     * @param random - Generator for the fire spread.
+     * @return true if the agent reaches the end, false otherwise.
+     */
+    public static boolean stratThree(Maze maze, double q, SplittableRandom random) {
+        Maze mazeSim = maze.copy();
+        return stratThree(mazeSim, createFireModel(mazeSim, q, random));
+    }
+
+    /**
+     * Method that implements Strategy 3 of stepping through the maze, with every strategy facing the same fire.
+     * @param maze - The maze to run on; it is copied, not modified.
+     * @param field - Pre-sampled fire, replayed onto the copy.
+     * @return true if the agent reaches the end, false otherwise.
+     */
+    public static boolean stratThree(Maze maze, IgnitionField field) {
+        Maze mazeSim = maze.copy();
+        return stratThree(mazeSim, field.replay(mazeSim));
+    }
+
+    /**
+     * Method that implements Strategy 3 of stepping through the maze.
+     * @param mazeSim - The maze to run on; the fire is written into it.
+     * @param fire - Fire spreading through mazeSim.
+     * @return true if the agent reaches the end, false otherwise.
+     */
+    public static boolean stratThree(Maze mazeSim, FireModel fire) {
+        //Plan with D* Lite; each step only repairs the plan around the new fires.
+        Replanner planner = new DStarLite(mazeSim, mazeSim.getStart());
+        if(!planner.replan()) {
+            return false;
+        }
 
         Index agent = new Index(0, 0);
         int count = 0;
-        while(agent.getRow() != mazeSim.length - 1 || agent.getCol() != mazeSim.length - 1) {
+        while(agent.getRow() != mazeSim.getDim() - 1 || agent.getCol() != mazeSim.getDim() - 1) {
             if(count == 500) {
                 System.out.println("Timed out.");
                 return false;
             }
-            Index nextSpot = pathInfo.getShortestPath().get(1);
+            int nextSpot = planner.nextStep();
             //check if this next spot has fire neighbors
             //recompute shortestPath, ignoring nextSpot
-            int chanceOfFire = countFireNeighbors(mazeSim, nextSpot.getRow(), nextSpot.getCol());
-            PathInfo newPath;
+            int chanceOfFire = mazeSim.countFireNeighbors(nextSpot);
             if(chanceOfFire > 0) { //if the current next spot has fire next to it, it could potentially catch fire
-                newPath = AStarFromPosition(agent);
+                PathInfo newPath = AStarFromPosition(mazeSim, agent);
 
                 if(newPath.getShortestPath() != null) { //check if proposed path is valid
                     Index altNextSpot = newPath.getShortestPath().get(1);
-                    int altChanceOfFire = countFireNeighbors(mazeSim, altNextSpot.getRow(), altNextSpot.getCol());
+                    int altCell = mazeSim.index(altNextSpot.getRow(), altNextSpot.getCol());
+                    int altChanceOfFire = mazeSim.countFireNeighbors(altCell);
                     if(altChanceOfFire < chanceOfFire) { //check to make sure the nextSpot of this new path isn't a greater risk (prevents infinite loop)
-                        pathInfo = newPath; //have the agent set to follow this alternate path
-                        continue; //go back to the beginning of the loop
+                        nextSpot = altCell; //have the agent take the alternate step
                     }
                 }
             }
 
-            agent.setRow(nextSpot.getRow());
-            agent.setCol(nextSpot.getCol());
+            agent.setRow(mazeSim.rowOf(nextSpot));
+            agent.setCol(mazeSim.colOf(nextSpot));
+            planner.moveAgent(nextSpot);
 
-            if(mazeSim[agent.getRow()][agent.getCol()] == 3) {
+            if(mazeSim.get(agent.getRow(), agent.getCol()) == 3) {
                 //System.out.println("Agent has stepped in fire."); //debug
                 return false;
             }
 
             //Determine after the fire if maze is still solvable
-            advanceFireOneStep(mazeSim, q);
-            if(mazeSim[agent.getRow()][agent.getCol()] == 3) {
+            fire.step();
+            if(mazeSim.get(agent.getRow(), agent.getCol()) == 3) {
                 //System.out.println("Fire has spread to agent."); //debug
                 return false;
             }
-            newPath = BFSFromPosition(agent);
-            if(newPath.getShortestPath() == null) {
+            reportFire(fire, planner);
+            if(!planner.replan()) {
                 //System.out.println("Maze no longer solvable."); //debug
                 return false;
             }
-            pathInfo = newPath;
             count ++;
         }
 
@@ -879,16 +923,132 @@ public class Main {
         return true;
     }
 
+    /**
+     * Method that implements Strategy Four of stepping through the maze.
+     * @param q - The flammability.
+     * @return true if the agent reaches the end, false otherwise.
+     */
+    public static boolean stratFour(double q) {
+        return stratFour(maze, q);
+    }
+
+    /**
+     * Method that implements Strategy Four of stepping through the maze.
+     * @param maze - The maze to run on; it is copied, not modified.
+     * @param q - The flammability.
+     * @return true if the agent reaches the end, false otherwise.
+     */
+    public static boolean stratFour(Maze maze, double q) {
+        return stratFour(maze, q, new SplittableRandom());
+    }
+
+    /**
+     * Method that implements Strategy Four of stepping through the maze.
+     * @param maze - The maze to run on; it is copied, not modified.
+     * @param q - The flammability.
+     * @param random - Generator for the fire spread; the rollouts get a generator split off it.
+     * @return true if the agent reaches the end, false otherwise.
+     */
+    public static boolean stratFour(Maze maze, double q, SplittableRandom random) {
+        SplittableRandom rolloutRandom = random.split();
+        Maze mazeSim = maze.copy();
+        return stratFour(mazeSim, createFireModel(mazeSim, q, random), q, ROLLOUTS, ROLLOUT_HORIZON, rolloutRandom);
+    }
+
+    /**
+     * Method that implements Strategy Four of stepping through the maze, with every strategy facing the same fire.
+     * @param maze - The maze to run on; it is copied, not modified.
+     * @param field - Pre-sampled fire, replayed onto the copy.
+     * @param random - Generator for the rollouts.
+     * @return true if the agent reaches the end, false otherwise.
+     */
+    public static boolean stratFour(Maze maze, IgnitionField field, SplittableRandom random) {
+        Maze mazeSim = maze.copy();
+        return stratFour(mazeSim, field.replay(mazeSim), field.getQ(), ROLLOUTS, ROLLOUT_HORIZON, random);
+    }
+
+    /**
+     * Method that implements Strategy Four of stepping through the maze.
+     * @param mazeSim - The maze to run on; the fire is written into it.
+     * @param fire - Fire spreading through mazeSim.
+     * @param q - The flammability the rollouts assume.
+     * @param numRollouts - Fire rollouts per candidate move.
+     * @param horizon - Fire steps each rollout looks ahead.
+     * @param random - Generator for the rollouts.
+     * @return true if the agent reaches the end, false otherwise.
+     */
+    public static boolean stratFour(Maze mazeSim, FireModel fire, double q, int numRollouts, int horizon, SplittableRandom random) {
+        //Before every step, simulate short futures of the fire for each move and take the one survived most often.
+        Replanner planner = new RolloutPlanner(mazeSim, mazeSim.getStart(), q, numRollouts, horizon, random);
+        if(!planner.replan()) {
+            return false;
+        }
+
+        int agent = mazeSim.getStart();
+        for(int count = 0; agent != mazeSim.getGoal(); count++) {
+            if(count == mazeSim.size()) { //the agent has wandered long enough to have visited every space
+                return false;
+            }
+            agent = planner.nextStep();
+            planner.moveAgent(agent);
+            if(mazeSim.get(agent) == Maze.FIRE) {
+                return false;
+            }
+
+            fire.step();
+            if(mazeSim.get(agent) == Maze.FIRE) {
+                return false;
+            }
+            reportFire(fire, planner);
+            if(!planner.replan()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Method to tell a planner about the spaces that caught fire on the fire's last step.
+     * @param fire - The fire that just stepped.
+     * @param planner - Planner on the same maze.
+     */
+    public static void reportFire(FireModel fire, Replanner planner) {
+        for(int i = 0; i < fire.getNumIgnited(); i++) {
+            planner.cellBlocked(fire.getIgnited(i));
+        }
+    }
+
     /**
      * Method to generate a solvable maze.
      * @return the solvable maze.
      */
     public static void generateSolvableMaze() {
-        PathInfo pathInfo;
+        maze = createSolvableMaze(100, 0.3);
+    }
+
+    /**
+     * Method to create a solvable maze with one spot on fire, without touching Main.maze.
+     * @param dim - Dimension of maze.
+     * @param den - Obstacle density.
+     * @return the solvable maze.
+     */
+    public static Maze createSolvableMaze(int dim, double den) {
+        return createSolvableMaze(dim, den, new SplittableRandom());
+    }
+
+    /**
+     * Method to create a solvable maze with one spot on fire, drawing from the given generator.
+     * @param dim - Dimension of maze.
+     * @param den - Obstacle density.
+     * @param random - Generator owned by the caller.
+     * @return the solvable maze.
+     */
+    public static Maze createSolvableMaze(int dim, double den, SplittableRandom random) {
+        Maze maze;
         do {
-            generateMaze(100, 0.3, true);
-            pathInfo = BFSMaze();
-        } while(pathInfo.getShortestPath() == null);
+            maze = createMaze(dim, den, true, random);
+        } while(!DFSEngine.search(maze, maze.getStart()));
+        return maze;
     }
 
     public static void main(String[] args) {
@@ -905,7 +1065,7 @@ public class Main {
             + "bfs: run BFS on maze\na: run A* on maze\n"
             + "p[dfs | bfs | a]: runs respective search algorithm on maze and prints result\n"
             + "pr[dfs | bfs | a]: runs respective search algorithm on maze and prints readable result (creates output.txt)\n"
-            + "strat[1 | 2 | 3]: run strategy 1, 2, or 3 on the maze\n"
+            + "strat[1 | 2 | 3 | 4]: run strategy 1, 2, 3, or 4 on the maze\n"
             + "h | help: show this list again\nh [g | p | print | pr] | help [g | p | print | pr]: get more info on command";
 
         System.out.println(help + "\n");
@@ -1004,7 +1164,7 @@ public class Main {
                 }
 
                 System.out.println();
-            } else if(command.equalsIgnoreCase("strat1") || command.equalsIgnoreCase("strat2") || command.equalsIgnoreCase("strat3")) { // Strategies
+            } else if(command.equalsIgnoreCase("strat1") || command.equalsIgnoreCase("strat2") || command.equalsIgnoreCase("strat3") || command.equalsIgnoreCase("strat4")) { // Strategies
                 try {
                     System.out.print("Enter flammability rate between 0.0 and 1.0 (double): ");
                     double q = sc.nextDouble();
@@ -1022,6 +1182,8 @@ public class Main {
                         stratTwo(q);
                     } else if(command.equalsIgnoreCase("strat3")) {
                         stratThree(q);
+                    } else if(command.equalsIgnoreCase("strat4")) {
+                        stratFour(q);
                     }
                 } catch (Exception e) {
                     System.out.println("Please enter numbers only!");
@@ -1060,8 +1222,8 @@ public class Main {
             int numSuccess = 0;
             int numAttempts = 0;
             for(int j = 0; j < 100; j ++) {
-                generateMaze(750, i, false);
-                boolean reachable = DFSMaze();
+                Maze sample = createMaze(750, i, false);
+                boolean reachable = DFSEngine.search(sample, sample.getStart());
                 if(reachable) {
                     System.out.println(true);
                     numSuccess ++;
@@ -1075,6 +1237,16 @@ public class Main {
         }
          */
 
+        /* DFS Plot (percolation) */
+        //Same plot from Newman–Ziff samples: each sample gives P[G reachable] for every p at once.
+        /*
+        double[] densities = {0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8, 0.9, 1.0};
+        double[] reachable = new Percolation(750).reachability(densities, 100, new SplittableRandom());
+        for(int i = 0; i < densities.length; i ++) {
+            System.out.println("--For p = " + densities[i] + ", P[G reachable] = " + reachable[i] + "\n");
+        }
+        */
+
         /* BFS Plot and A* Plot */
         //Number of nodes explored by BFS vs. obstacle density p
         /*
@@ -1107,18 +1279,11 @@ public class Main {
         /* Strat One Plot */
 
         //Plot, for Strategy 1, 2, and 3, a graph of 'average strategy success rate’ vs ‘flammability q’ at p= 0.3.
+        //Strategy One's path is fixed, so its fires are simulated 64 at a time instead of one stratOne run per trial.
         /*
         for(double q = 0.1; q <= 1.0; q += 0.1) {
-            double avgSuccess = 0;
             System.out.println("--For q = " + q);
-            for(int j = 0; j < 100; j ++) {
-                boolean attempt = stratOne(q); //Implement strat one and see whether the agent reached or not
-                System.out.println(attempt);
-                if(attempt) {
-                    avgSuccess += 1.0;
-                }
-            }
-            avgSuccess = avgSuccess / 100.0;
+            double avgSuccess = stratOneSurvival(maze, q, 128, new SplittableRandom());
             System.out.println("Average Success: " + avgSuccess + "\n");
         }*/
 
@@ -1141,36 +1306,28 @@ public class Main {
 
         /* Strat Plot */
 
-        for(double q = 0.0; q <= 0.6; q += 0.05) {
-            double avgSuccessStratOne = 0;
-            double avgSuccessStratTwo = 0;
-            double avgSuccessStratThree = 0;
-            System.out.println("--For q = " + q);
-            for(int j = 0; j < 100; j ++) {
-                generateSolvableMaze();
-                boolean attemptOne = stratOne(q);
-                //System.out.println("done");
-                boolean attemptTwo = stratTwo(q);
-                //System.out.println("done");
-                boolean attemptThree = stratThree(q);
-                //System.out.println("done");
-                System.out.println("#" + (j + 1) + ": " + attemptOne + ", " + attemptTwo + ", " + attemptThree);
-                if(attemptOne) {
-                    avgSuccessStratOne += 1.0;
-                }
-                if(attemptTwo) {
-                    avgSuccessStratTwo += 1.0;
-                }
-                if(attemptThree) {
-                    avgSuccessStratThree += 1.0;
+        // Mazes already in StratPlot.corpus are read back instead of generated, so a rerun skips generation.
+        try(MazeCorpus corpus = new MazeCorpus(new File("./StratPlot.corpus").toPath())) {
+            // Trials run in parallel, one thread per core.
+            ExperimentRunner runner = new ExperimentRunner(100, 0.3, Runtime.getRuntime().availableProcessors(), STRAT_PLOT_SEED, corpus);
+            try {
+                for(double q = 0.0; q <= 0.6; q += 0.05) {
+                    System.out.println("--For q = " + q);
+                    boolean[][] attempts = runner.runTrials(q, 100);
+                    for(int j = 0; j < attempts.length; j ++) {
+                        System.out.println("#" + (j + 1) + ": " + attempts[j][0] + ", " + attempts[j][1] + ", " + attempts[j][2] + ", " + attempts[j][3]);
+                    }
+                    double[] avgSuccess = ExperimentRunner.successRates(attempts);
+                    System.out.println("Average Success (1): " + avgSuccess[0]);
+                    System.out.println("Average Success (2): " + avgSuccess[1]);
+                    System.out.println("Average Success (3): " + avgSuccess[2]);
+                    System.out.println("Average Success (4): " + avgSuccess[3] + "\n");
                 }
+            } finally {
+                runner.shutdown();
             }
-            avgSuccessStratOne = avgSuccessStratOne / 100.0;
-            avgSuccessStratTwo = avgSuccessStratTwo / 100.0;
-            avgSuccessStratThree = avgSuccessStratThree / 100.0;
-            System.out.println("Average Success (1): " + avgSuccessStratOne);
-            System.out.println("Average Success (2): " + avgSuccessStratTwo);
-            System.out.println("Average Success (3): " + avgSuccessStratThree + "\n");
+        } catch (IOException e) {
+            System.out.println("An error occurred on reading or writing StratPlot.corpus: " + e.getMessage());
         }
 
     }
@@ -0,0 +1,177 @@
+package com.company;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Maze whose spaces live in a memory-mapped maze file (see MazeFile) instead of a heap array.
+ * Every search engine takes it like any other Maze and reads the mapped pages directly;
+ * only copy() and tile() bring spaces onto the heap.
+ * Burning neighbors are counted by reading the four neighbors each time rather than kept in a heap array,
+ * since a mapped maze may be larger than the heap.
+ * @author Aditya Dhawan, Annie Thach
+ */
+public class MappedMaze extends Maze {
+    private final MappedByteBuffer file;
+    private final ByteBuffer cells; // The file past the header; cell i is at position i.
+    private final double density;
+    private final long seed;
+
+    /**
+     * Constructor that wraps a mapped file whose header has already been checked.
+     * @param dim - Dimension of maze.
+     * @param density - Obstacle density from the header.
+     * @param seed - Seed from the header.
+     * @param file - The whole mapped file.
+     */
+    MappedMaze(int dim, double density, long seed, MappedByteBuffer file) {
+        super(dim, false);
+        this.file = file;
+        this.density = density;
+        this.seed = seed;
+        ByteBuffer view = file.duplicate();
+        view.position(MazeFile.HEADER_BYTES);
+        this.cells = view.slice();
+    }
+
+    /**
+     * Getter method for the obstacle density the maze was generated with.
+     * @return Obstacle density.
+     */
+    public double getDensity() {
+        return density;
+    }
+
+    /**
+     * Getter method for the seed the maze was generated from.
+     * @return Seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Checks if the file was mapped read-only.
+     * @return True if spaces cannot be set.
+     */
+    public boolean isReadOnly() {
+        return cells.isReadOnly();
+    }
+
+    /**
+     * Writes any changed spaces back to the file on disk.
+     */
+    public void force() {
+        file.force();
+    }
+
+    @Override
+    public byte get(int cell) {
+        return cells.get(cell);
+    }
+
+    @Override
+    public byte get(int row, int col) {
+        return cells.get(row * getDim() + col);
+    }
+
+    @Override
+    public boolean isOpen(int cell) {
+        return cells.get(cell) < OBSTACLE;
+    }
+
+    @Override
+    public int countFireNeighbors(int cell) {
+        int dim = getDim();
+        int row = cell / dim;
+        int col = cell - row * dim;
+        int k = 0;
+        if(row - 1 >= 0 && cells.get(cell - dim) == FIRE) {
+            k++;
+        }
+        if(row + 1 < dim && cells.get(cell + dim) == FIRE) {
+            k++;
+        }
+        if(col - 1 >= 0 && cells.get(cell - 1) == FIRE) {
+            k++;
+        }
+        if(col + 1 < dim && cells.get(cell + 1) == FIRE) {
+            k++;
+        }
+        return k;
+    }
+
+    @Override
+    public void set(int cell, int value) {
+        cells.put(cell, (byte) value);
+    }
+
+    @Override
+    public void set(int row, int col, int value) {
+        cells.put(row * getDim() + col, (byte) value);
+    }
+
+    /**
+     * Makes a heap copy of the maze with one bulk read of the mapping.
+     * @return Copy of maze.
+     */
+    @Override
+    public Maze copy() {
+        Maze copy = new Maze(getDim());
+        copy.copyFrom(cells);
+        return copy;
+    }
+
+    @Override
+    public void copyInto(Maze dest) {
+        if(dest.getDim() != getDim()) {
+            throw new IllegalArgumentException("Dimension mismatch: " + getDim() + " vs " + dest.getDim());
+        }
+        dest.copyFrom(cells);
+    }
+
+    @Override
+    void copyFrom(byte[] src, byte[] srcFireNeighbors) {
+        ByteBuffer out = cells.duplicate();
+        out.position(0);
+        out.put(src, 0, size());
+    }
+
+    @Override
+    void copyFrom(ByteBuffer src) {
+        ByteBuffer out = cells.duplicate();
+        out.position(0);
+        ByteBuffer in = src.duplicate();
+        in.position(0);
+        in.limit(size());
+        out.put(in);
+    }
+
+    /**
+     * Copies a square tile of the maze onto the heap, one bulk read per row,
+     * so a region of a maze too large for the heap can be searched or printed on its own.
+     * Spaces of the tile that fall past the edge of the maze are obstacles.
+     * @param row - Row of the tile's top-left space.
+     * @param col - Column of the tile's top-left space.
+     * @param tileDim - Dimension of the tile.
+     * @return The tile as a new maze.
+     */
+    public Maze tile(int row, int col, int tileDim) {
+        int dim = getDim();
+        if(row < 0 || col < 0 || row >= dim || col >= dim || tileDim < 1) {
+            throw new IllegalArgumentException("Tile at (" + row + ", " + col + ") of dimension " + tileDim
+                + " is outside a maze of dimension " + dim);
+        }
+        byte[] tile = new byte[tileDim * tileDim];
+        Arrays.fill(tile, OBSTACLE);
+        int rows = Math.min(tileDim, dim - row);
+        int cols = Math.min(tileDim, dim - col);
+        ByteBuffer in = cells.duplicate();
+        for(int r = 0; r < rows; r++) {
+            in.position((row + r) * dim + col);
+            in.get(tile, r * tileDim, cols);
+        }
+        return new Maze(tileDim, tile);
+    }
+}
@@ -0,0 +1,305 @@
+package com.company;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Flat dim x dim maze stored in one contiguous byte array.
+ * The space at (row, col) lives at cell index row * dim + col.
+ * MappedMaze keeps the same layout in a memory-mapped file instead (see MazeFile).
+ *
+ * Let...
+ * 0 be an empty space
+ * 1 be an explored space
+ * 2 be an obstacle
+ * 3 be fire
+ *
+ * The number of burning neighbors of every space is kept in a second byte array, built the first time it is
+ * asked for and then updated by set() as spaces catch fire, so searches read it instead of four neighbors.
+ * Writes must go through set() (or copyInto) once it is built.
+ * @author Aditya Dhawan, Annie Thach
+ */
+public class Maze {
+    public static final byte EMPTY = 0;
+    public static final byte EXPLORED = 1;
+    public static final byte OBSTACLE = 2;
+    public static final byte FIRE = 3;
+
+    private final int dim;
+    private final byte[] cells;
+    private byte[] fireNeighbors; // Burning neighbors (0 - 4) of each space, or null until first asked for.
+
+    /**
+     * Constructor for an empty dim x dim maze.
+     * @param dim - Dimension of maze.
+     */
+    public Maze(int dim) {
+        this(dim, true);
+    }
+
+    /**
+     * Constructor for a maze whose spaces may live outside the heap.
+     * A subclass passing false keeps its own storage and overrides every method that reads or writes spaces.
+     * @param dim - Dimension of maze.
+     * @param onHeap - True to allocate the byte array.
+     */
+    Maze(int dim, boolean onHeap) {
+        this.dim = dim;
+        this.cells = onHeap ? new byte[dim * dim] : null;
+    }
+
+    /**
+     * Constructor that wraps an existing cell array (no copy is made). Package-private, since writing the array
+     * directly would leave the burning neighbor counts stale.
+     * @param dim - Dimension of maze.
+     * @param cells - Row-major cells; length must be dim * dim.
+     */
+    Maze(int dim, byte[] cells) {
+        if(cells.length != dim * dim) {
+            throw new IllegalArgumentException("Expected " + (dim * dim) + " cells, got " + cells.length);
+        }
+        this.dim = dim;
+        this.cells = cells;
+    }
+
+    /**
+     * Getter method for dimension of maze.
+     * @return Dimension of maze.
+     */
+    public int getDim() {
+        return dim;
+    }
+
+    /**
+     * Getter method for number of cells in maze.
+     * @return dim * dim.
+     */
+    public int size() {
+        return dim * dim;
+    }
+
+    /**
+     * Converts (row, col) to a cell index.
+     * @param row - Row of space.
+     * @param col - Column of space.
+     * @return Cell index of space.
+     */
+    public int index(int row, int col) {
+        return row * dim + col;
+    }
+
+    /**
+     * Row of a cell index.
+     * @param cell - Cell index.
+     * @return Row of cell.
+     */
+    public int rowOf(int cell) {
+        return cell / dim;
+    }
+
+    /**
+     * Column of a cell index.
+     * @param cell - Cell index.
+     * @return Column of cell.
+     */
+    public int colOf(int cell) {
+        return cell % dim;
+    }
+
+    /**
+     * Getter method for the start cell (0, 0).
+     * @return Cell index of start.
+     */
+    public int getStart() {
+        return 0;
+    }
+
+    /**
+     * Getter method for the goal cell (dim - 1, dim - 1).
+     * @return Cell index of goal.
+     */
+    public int getGoal() {
+        return dim * dim - 1;
+    }
+
+    /**
+     * Getter method for space type at a cell index.
+     * @param cell - Cell index.
+     * @return Space type.
+     */
+    public byte get(int cell) {
+        return cells[cell];
+    }
+
+    /**
+     * Getter method for space type at (row, col).
+     * @param row - Row of space.
+     * @param col - Column of space.
+     * @return Space type.
+     */
+    public byte get(int row, int col) {
+        return cells[row * dim + col];
+    }
+
+    /**
+     * Checks if the agent can stand on a cell (not an obstacle and not on fire).
+     * @param cell - Cell index.
+     * @return True if cell is empty or explored.
+     */
+    public boolean isOpen(int cell) {
+        return cells[cell] < OBSTACLE;
+    }
+
+    /**
+     * Count neighbors of a cell that are currently on fire.
+     * @param cell - Cell index.
+     * @return Number of neighbors (0 - 4) that are on fire.
+     */
+    public int countFireNeighbors(int cell) {
+        if(fireNeighbors == null) {
+            buildFireNeighbors();
+        }
+        return fireNeighbors[cell];
+    }
+
+    /**
+     * Checks the kept burning neighbor counts against a fresh count of every space's neighbors.
+     * @return True if the counts have been built and all of them are right.
+     */
+    public boolean fireNeighborsMatch() {
+        if(fireNeighbors == null) {
+            return false;
+        }
+        for(int cell = 0; cell < cells.length; cell++) {
+            if(fireNeighbors[cell] != scanFireNeighbors(cell)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Helper method to count every space's burning neighbors with one pass over the maze.
+     */
+    private void buildFireNeighbors() {
+        byte[] counts = new byte[cells.length];
+        for(int cell = 0; cell < cells.length; cell++) {
+            counts[cell] = (byte) scanFireNeighbors(cell);
+        }
+        fireNeighbors = counts;
+    }
+
+    /**
+     * Helper method to count a cell's burning neighbors by reading them.
+     */
+    private int scanFireNeighbors(int cell) {
+        int row = cell / dim;
+        int col = cell - row * dim;
+        int k = 0;
+        if(row - 1 >= 0 && cells[cell - dim] == FIRE) {
+            k++;
+        }
+        if(row + 1 < dim && cells[cell + dim] == FIRE) {
+            k++;
+        }
+        if(col - 1 >= 0 && cells[cell - 1] == FIRE) {
+            k++;
+        }
+        if(col + 1 < dim && cells[cell + 1] == FIRE) {
+            k++;
+        }
+        return k;
+    }
+
+    /**
+     * Setter method for space type at a cell index.
+     * @param cell - Cell index.
+     * @param value - Space type.
+     */
+    public void set(int cell, int value) {
+        if(fireNeighbors != null && (cells[cell] == FIRE) != (value == FIRE)) {
+            addFireNeighbor(cell, value == FIRE ? 1 : -1);
+        }
+        cells[cell] = (byte) value;
+    }
+
+    /**
+     * Helper method to add to the burning neighbor count of each neighbor of a cell.
+     */
+    private void addFireNeighbor(int cell, int delta) {
+        int row = cell / dim;
+        int col = cell - row * dim;
+        if(row - 1 >= 0) {
+            fireNeighbors[cell - dim] += delta;
+        }
+        if(row + 1 < dim) {
+            fireNeighbors[cell + dim] += delta;
+        }
+        if(col - 1 >= 0) {
+            fireNeighbors[cell - 1] += delta;
+        }
+        if(col + 1 < dim) {
+            fireNeighbors[cell + 1] += delta;
+        }
+    }
+
+    /**
+     * Setter method for space type at (row, col).
+     * @param row - Row of space.
+     * @param col - Column of space.
+     * @param value - Space type.
+     */
+    public void set(int row, int col, int value) {
+        set(row * dim + col, value);
+    }
+
+    /**
+     * Makes a copy of the maze with a single array copy.
+     * @return Copy of maze.
+     */
+    public Maze copy() {
+        Maze copy = new Maze(dim);
+        System.arraycopy(cells, 0, copy.cells, 0, cells.length);
+        if(fireNeighbors != null) {
+            copy.fireNeighbors = fireNeighbors.clone();
+        }
+        return copy;
+    }
+
+    /**
+     * Overwrites another maze of the same dimension with this maze's spaces.
+     * @param dest - Maze to overwrite.
+     */
+    public void copyInto(Maze dest) {
+        if(dest.dim != dim) {
+            throw new IllegalArgumentException("Dimension mismatch: " + dim + " vs " + dest.dim);
+        }
+        dest.copyFrom(cells, fireNeighbors);
+    }
+
+    /**
+     * Helper method to overwrite every space from a row-major array of the same size, along with the
+     * burning neighbor counts if the source has them, reusing this maze's count array.
+     * Without them, the counts are dropped and rebuilt the next time they are asked for.
+     */
+    void copyFrom(byte[] src, byte[] srcFireNeighbors) {
+        System.arraycopy(src, 0, cells, 0, cells.length);
+        if(srcFireNeighbors == null) {
+            fireNeighbors = null;
+            return;
+        }
+        if(fireNeighbors == null) {
+            fireNeighbors = new byte[cells.length];
+        }
+        System.arraycopy(srcFireNeighbors, 0, fireNeighbors, 0, cells.length);
+    }
+
+    /**
+     * Helper method to overwrite every space from a buffer holding dim * dim row-major spaces from position 0.
+     */
+    void copyFrom(ByteBuffer src) {
+        ByteBuffer in = src.duplicate();
+        in.position(0);
+        in.get(cells);
+        fireNeighbors = null;
+    }
+}
@@ -0,0 +1,241 @@
+package com.company;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only file of generated mazes, so a sweep can be rerun on exactly the same mazes
+ * and read them back instead of generating and re-validating them.
+ * Mazes are keyed like a MazePool stream: (dim, den, seed) and the maze's index in that stream.
+ *
+ * File: magic "MZCP" and version (8 bytes), then one record per maze...
+ * 0: dim
+ * 4: cell first set on fire
+ * 8: obstacle density (double)
+ * 16: seed of the stream (long)
+ * 24: index in the stream (long)
+ * 32: seed the trial samples its fire from (long)
+ * 40: seed Strategy 4 draws its rollouts from (long)
+ * 48: dim * dim spaces, one byte each, row-major
+ *
+ * The index from key to record is rebuilt on open by hopping from record header to record header;
+ * a record cut short by a crash is truncated away.
+ * @author Aditya Dhawan, Annie Thach
+ */
+public class MazeCorpus implements Closeable {
+    static final int MAGIC = 0x4D5A4350;
+    static final int VERSION = 2;
+    static final int FILE_HEADER_BYTES = 8;
+    static final int RECORD_HEADER_BYTES = 48;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final ConcurrentHashMap<Key, Long> offsets = new ConcurrentHashMap<Key, Long>();
+    private long end;
+
+    /**
+     * Constructor that opens a corpus file, creating it if it does not exist, and indexes its records.
+     * @param path - Corpus file.
+     * @throws IOException if the file cannot be opened or is not a corpus.
+     */
+    public MazeCorpus(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if(channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+                header.putInt(MAGIC).putInt(VERSION).flip();
+                writeFully(header, 0);
+            }
+            scan();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads a maze back from the corpus.
+     * @param dim - Dimension of the maze.
+     * @param den - Obstacle density of the maze.
+     * @param seed - Seed of the stream.
+     * @param index - Index in the stream.
+     * @return The maze with its fire cell and seeds, or null if the corpus does not have it.
+     * @throws IOException if the record cannot be read.
+     */
+    public MazePool.Entry read(int dim, double den, long seed, long index) throws IOException {
+        Long offset = offsets.get(new Key(dim, den, seed, index));
+        if(offset == null) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+        readFully(header, offset);
+        byte[] cells = new byte[dim * dim];
+        readFully(ByteBuffer.wrap(cells), offset + RECORD_HEADER_BYTES);
+        return new MazePool.Entry(index, new Maze(dim, cells), header.getInt(4), header.getLong(32), header.getLong(40));
+    }
+
+    /**
+     * Appends a maze to the corpus; does nothing if a maze with the same key is already there.
+     * @param dim - Dimension of the maze.
+     * @param den - Obstacle density of the maze.
+     * @param seed - Seed of the stream.
+     * @param entry - The maze and its index in the stream.
+     * @throws IOException if the record cannot be written.
+     */
+    public synchronized void append(int dim, double den, long seed, MazePool.Entry entry) throws IOException {
+        Key key = new Key(dim, den, seed, entry.getIndex());
+        if(offsets.containsKey(key)) {
+            return;
+        }
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+        header.putInt(dim).putInt(entry.getFireCell()).putDouble(den).putLong(seed)
+            .putLong(entry.getIndex()).putLong(entry.getFireSeed()).putLong(entry.getRolloutSeed()).flip();
+        byte[] cells = new byte[dim * dim];
+        entry.getMaze().copyInto(new Maze(dim, cells));
+
+        long offset = end;
+        writeFully(header, offset);
+        writeFully(ByteBuffer.wrap(cells), offset + RECORD_HEADER_BYTES);
+        end = offset + RECORD_HEADER_BYTES + cells.length;
+        offsets.put(key, offset);
+    }
+
+    /**
+     * Checks if the corpus has a maze.
+     * @param dim - Dimension of the maze.
+     * @param den - Obstacle density of the maze.
+     * @param seed - Seed of the stream.
+     * @param index - Index in the stream.
+     * @return True if read would find it.
+     */
+    public boolean contains(int dim, double den, long seed, long index) {
+        return offsets.containsKey(new Key(dim, den, seed, index));
+    }
+
+    /**
+     * Getter method for the number of mazes in the corpus.
+     * @return Number of records.
+     */
+    public int size() {
+        return offsets.size();
+    }
+
+    /**
+     * Writes appended mazes to disk and closes the file.
+     * @throws IOException if the file cannot be flushed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Helper method to check the file header and index every complete record.
+     */
+    private void scan() throws IOException {
+        long size = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+        header.limit(FILE_HEADER_BYTES);
+        if(size >= FILE_HEADER_BYTES) {
+            readFully(header, 0);
+        }
+        if(size < FILE_HEADER_BYTES || header.getInt(0) != MAGIC) {
+            throw new IOException(path + " is not a maze corpus");
+        }
+        if(header.getInt(4) != VERSION) {
+            throw new IOException(path + " has unsupported version " + header.getInt(4) + "; delete it to regenerate");
+        }
+
+        long offset = FILE_HEADER_BYTES;
+        while(offset + RECORD_HEADER_BYTES <= size) {
+            header.clear();
+            readFully(header, offset);
+            int dim = header.getInt(0);
+            if(dim < 1 || dim > MazeFile.MAX_DIM) {
+                throw new IOException(path + " has a bad record at byte " + offset);
+            }
+            long next = offset + RECORD_HEADER_BYTES + (long) dim * dim;
+            if(next > size) {
+                break;
+            }
+            offsets.put(new Key(dim, header.getDouble(8), header.getLong(16), header.getLong(24)), offset);
+            offset = next;
+        }
+        if(offset < size) { // Torn last record.
+            channel.truncate(offset);
+        }
+        end = offset;
+    }
+
+    /**
+     * Helper method to fill a buffer from a file position, then flip it for reading.
+     */
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while(buffer.hasRemaining()) {
+            int n = channel.read(buffer, position);
+            if(n < 0) {
+                throw new EOFException(path + " ended at byte " + position);
+            }
+            position += n;
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Helper method to write a whole buffer at a file position.
+     */
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while(buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Key of a maze: its stream and its index in the stream.
+     */
+    private static final class Key {
+        private final int dim;
+        private final long den;
+        private final long seed;
+        private final long index;
+
+        /**
+         * Constructor for a key; the density is compared bit for bit.
+         */
+        Key(int dim, double den, long seed, long index) {
+            this.dim = dim;
+            this.den = Double.doubleToLongBits(den);
+            this.seed = seed;
+            this.index = index;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return dim == other.dim && den == other.den && seed == other.seed && index == other.index;
+        }
+
+        @Override
+        public int hashCode() {
+            long h = dim;
+            h = h * 31 + den;
+            h = h * 31 + seed;
+            h = h * 31 + index;
+            return Long.hashCode(h);
+        }
+    }
+}
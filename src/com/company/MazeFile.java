@@ -0,0 +1,118 @@
+package com.company;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary maze file: a 32-byte header followed by one byte per space, row-major, with the same values as Maze.
+ *
+ * Header (big-endian)...
+ * 0: magic "MAZE"
+ * 4: format version
+ * 8: dim
+ * 12: reserved (0)
+ * 16: obstacle density the maze was generated with (double)
+ * 24: seed the maze was generated from (long)
+ *
+ * Files are opened with FileChannel.map, so a MappedMaze reads and writes the file's pages directly:
+ * nothing is copied onto the heap, mazes bigger than the heap can be searched, and processes that map
+ * the same file share the same spaces.
+ * @author Aditya Dhawan, Annie Thach
+ */
+public final class MazeFile {
+    static final int MAGIC = 0x4D415A45;
+    static final int VERSION = 1;
+    /** Bytes before the first space. */
+    public static final int HEADER_BYTES = 32;
+    /** Largest dim whose file fits in one mapping (and whose cell indices fit in an int). */
+    public static final int MAX_DIM = 46340;
+
+    private MazeFile() {
+    }
+
+    /**
+     * Writes a maze to a new file, replacing any file already there.
+     * @param maze - Maze to save.
+     * @param path - File to write.
+     * @param density - Obstacle density the maze was generated with.
+     * @param seed - Seed the maze was generated from.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void save(Maze maze, Path path, double density, long seed) throws IOException {
+        MappedMaze file = create(path, maze.getDim(), density, seed);
+        maze.copyInto(file);
+        file.force();
+    }
+
+    /**
+     * Creates a file for an empty dim x dim maze and maps it for reading and writing.
+     * The spaces can be filled in through the returned maze, so it never has to exist on the heap.
+     * @param path - File to create; an existing file is replaced.
+     * @param dim - Dimension of maze; 1 to MAX_DIM.
+     * @param density - Obstacle density to record in the header.
+     * @param seed - Seed to record in the header.
+     * @return The mapped maze.
+     * @throws IOException if the file cannot be created.
+     */
+    public static MappedMaze create(Path path, int dim, double density, long seed) throws IOException {
+        if(dim < 1 || dim > MAX_DIM) {
+            throw new IllegalArgumentException("Dimension must be 1 to " + MAX_DIM + ", got " + dim);
+        }
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) dim * dim);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(8, dim);
+            buffer.putInt(12, 0);
+            buffer.putDouble(16, density);
+            buffer.putLong(24, seed);
+            return new MappedMaze(dim, density, seed, buffer);
+        }
+    }
+
+    /**
+     * Maps a maze file read-only; setting a space throws ReadOnlyBufferException.
+     * @param path - File to read.
+     * @return The mapped maze.
+     * @throws IOException if the file cannot be read or is not a maze file.
+     */
+    public static MappedMaze load(Path path) throws IOException {
+        return open(path, false);
+    }
+
+    /**
+     * Maps a maze file. When writable, fire and explored marks go straight into the file,
+     * where every process mapping it sees them.
+     * @param path - File to map.
+     * @param writable - True to map for reading and writing.
+     * @return The mapped maze.
+     * @throws IOException if the file cannot be opened or is not a maze file.
+     */
+    public static MappedMaze open(Path path, boolean writable) throws IOException {
+        try(FileChannel channel = writable
+                ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if(length < HEADER_BYTES) {
+                throw new IOException(path + " is too short to be a maze file");
+            }
+            MappedByteBuffer buffer = channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY,
+                0, length);
+            if(buffer.getInt(0) != MAGIC) {
+                throw new IOException(path + " is not a maze file");
+            }
+            if(buffer.getInt(4) != VERSION) {
+                throw new IOException(path + " has unsupported version " + buffer.getInt(4));
+            }
+            int dim = buffer.getInt(8);
+            if(dim < 1 || dim > MAX_DIM || length != HEADER_BYTES + (long) dim * dim) {
+                throw new IOException(path + " has " + length + " bytes, which does not match dimension " + dim);
+            }
+            return new MappedMaze(dim, buffer.getDouble(16), buffer.getLong(24), buffer);
+        }
+    }
+}
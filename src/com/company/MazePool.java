@@ -0,0 +1,316 @@
+package com.company;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Background producers that keep a bounded supply of solvable mazes ready, so trials never wait on
+ * the generate-and-reject loop of Main.createSolvableMaze.
+ *
+ * A pool is one stream of mazes for a (dim, den, seed): maze i is generated from the i-th generator split
+ * off a root seeded with seed, no matter which producer thread makes it, and take() hands mazes out in
+ * stream order. Each entry also carries a seed for the trial's fire and one for Strategy 4's rollouts,
+ * drawn from the maze's generator right after the maze, so a maze, its fire and its rollouts are fixed by the stream.
+ *
+ * With a MazeCorpus, producers read mazes the corpus already has instead of generating them,
+ * and append the ones they do generate, so a rerun of the same stream comes off disk.
+ * @author Aditya Dhawan, Annie Thach
+ */
+public class MazePool {
+    private final int dim;
+    private final double den;
+    private final long seed;
+    private final SplittableRandom root;
+    private final MazeCorpus corpus;
+    private final Entry[] slots;    // Entry i waits in slot i % capacity.
+    private final long[] slotNext;  // Index the slot takes next, so a fast producer cannot jump the queue.
+    private final Thread[] producers;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition canClaim = lock.newCondition();
+    private final Condition slotFreed = lock.newCondition();
+    private final Condition entryReady = lock.newCondition();
+    private long nextToClaim;       // Next stream index a producer will generate.
+    private long nextToTake;        // Next stream index take() will hand out.
+    private boolean closed;
+    private Throwable failure;      // Why a producer stopped, if one did.
+
+    /**
+     * Constructor that starts one producer and keeps up to two mazes per core ready.
+     * @param dim - Dimension of the mazes.
+     * @param den - Obstacle density of the mazes.
+     * @param seed - Seed of the stream.
+     */
+    public MazePool(int dim, double den, long seed) {
+        this(dim, den, seed, 2 * Runtime.getRuntime().availableProcessors(), 1, null);
+    }
+
+    /**
+     * Constructor that starts the producer threads.
+     * @param dim - Dimension of the mazes; at least 3.
+     * @param den - Obstacle density of the mazes.
+     * @param seed - Seed of the stream.
+     * @param capacity - Most mazes generated ahead of take().
+     * @param numProducers - Number of producer threads.
+     * @param corpus - Corpus to read mazes from and append new ones to, or null to always generate.
+     */
+    public MazePool(int dim, double den, long seed, int capacity, int numProducers, MazeCorpus corpus) {
+        if(capacity < 1 || numProducers < 1) {
+            throw new IllegalArgumentException("Capacity and producers must be positive, got " + capacity + " and " + numProducers);
+        }
+        this.dim = dim;
+        this.den = den;
+        this.seed = seed;
+        this.root = new SplittableRandom(seed);
+        this.corpus = corpus;
+        this.slots = new Entry[capacity];
+        this.slotNext = new long[capacity];
+        for(int s = 0; s < capacity; s++) {
+            slotNext[s] = s;
+        }
+        this.producers = new Thread[numProducers];
+        for(int i = 0; i < numProducers; i++) {
+            producers[i] = new Thread(this::produce, "maze-pool-" + i);
+            producers[i].setDaemon(true);
+            producers[i].start();
+        }
+    }
+
+    /**
+     * Takes the next maze of the stream, waiting if it is not generated yet.
+     * Safe to call from several threads; each entry is handed out once.
+     * An interrupt does not end the wait, since the index is already reserved and its slot would never
+     * free up; the thread's interrupt status is still set when this returns.
+     * @return The next entry; its index says where it falls in the stream.
+     * @throws IllegalStateException if the pool is shut down or a producer failed.
+     */
+    public Entry take() {
+        lock.lock();
+        try {
+            checkOpen();
+            long index = nextToTake++;
+            canClaim.signal();
+            int slot = slot(index);
+            while(slots[slot] == null || slots[slot].index != index) {
+                checkOpen();
+                entryReady.awaitUninterruptibly();
+            }
+            Entry entry = slots[slot];
+            slots[slot] = null;
+            slotNext[slot] = index + slots.length;
+            slotFreed.signalAll();
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Getter method for the number of entries handed out so far.
+     * @return Index of the next entry take() will return.
+     */
+    public long getNumTaken() {
+        lock.lock();
+        try {
+            return nextToTake;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the producers and waits for them to finish the maze they are on,
+     * so nothing is appended to the corpus afterwards.
+     * Waiting and later calls to take() throw IllegalStateException.
+     */
+    public void shutdown() {
+        close(null);
+        for(Thread producer : producers) {
+            boolean interrupted = false;
+            while(producer.isAlive()) {
+                try {
+                    producer.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if(interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Helper method to mark the pool closed and wake every waiting thread.
+     */
+    private void close(Throwable cause) {
+        lock.lock();
+        try {
+            closed = true;
+            if(failure == null) {
+                failure = cause;
+            }
+            canClaim.signalAll();
+            slotFreed.signalAll();
+            entryReady.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Helper method to stop a take() once the pool is closed; call with the lock held.
+     */
+    private void checkOpen() {
+        if(failure != null) {
+            throw new IllegalStateException("Maze producer failed", failure);
+        }
+        if(closed) {
+            throw new IllegalStateException("Maze pool is shut down");
+        }
+    }
+
+    /**
+     * Helper method run by each producer: claim the next index while fewer than capacity mazes
+     * are ahead of take(), generate it outside the lock, then wait until the entry capacity places
+     * earlier has left its slot.
+     */
+    private void produce() {
+        try {
+            produceUntilClosed();
+        } catch (IOException | RuntimeException e) {
+            close(e);
+        }
+    }
+
+    /**
+     * Helper method with the producer loop.
+     */
+    private void produceUntilClosed() throws IOException {
+        while(true) {
+            long index;
+            SplittableRandom random;
+            lock.lock();
+            try {
+                while(!closed && nextToClaim - nextToTake >= slots.length) {
+                    canClaim.awaitUninterruptibly();
+                }
+                if(closed) {
+                    return;
+                }
+                index = nextToClaim++;
+                random = root.split(); // Split in index order, so maze i always gets the i-th generator.
+            } finally {
+                lock.unlock();
+            }
+
+            Entry entry = corpus == null ? null : corpus.read(dim, den, seed, index);
+            if(entry == null) {
+                Maze maze = Main.createSolvableMaze(dim, den, random);
+                long fireSeed = random.nextLong();
+                entry = new Entry(index, maze, findFire(maze), fireSeed, random.nextLong());
+                if(corpus != null) {
+                    corpus.append(dim, den, seed, entry);
+                }
+            }
+
+            lock.lock();
+            try {
+                int slot = slot(index);
+                while(!closed && slotNext[slot] != index) {
+                    slotFreed.awaitUninterruptibly();
+                }
+                if(closed) {
+                    return;
+                }
+                slots[slot] = entry;
+                entryReady.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Helper method to find the cell createMaze set on fire.
+     */
+    private static int findFire(Maze maze) {
+        for(int cell = 0; cell < maze.size(); cell++) {
+            if(maze.get(cell) == Maze.FIRE) {
+                return cell;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Helper method to find the slot of a stream index.
+     */
+    private int slot(long index) {
+        return (int) (index % slots.length);
+    }
+
+    /**
+     * A maze of the stream with the seeds of its trial's fire and rollouts.
+     */
+    public static final class Entry {
+        private final long index;
+        private final Maze maze;
+        private final int fireCell;
+        private final long fireSeed;
+        private final long rolloutSeed;
+
+        /**
+         * Constructor for an entry.
+         */
+        Entry(long index, Maze maze, int fireCell, long fireSeed, long rolloutSeed) {
+            this.index = index;
+            this.maze = maze;
+            this.fireCell = fireCell;
+            this.fireSeed = fireSeed;
+            this.rolloutSeed = rolloutSeed;
+        }
+
+        /**
+         * Getter method for the entry's place in the stream.
+         * @return Stream index, from 0.
+         */
+        public long getIndex() {
+            return index;
+        }
+
+        /**
+         * Getter method for the solvable maze.
+         * @return The maze.
+         */
+        public Maze getMaze() {
+            return maze;
+        }
+
+        /**
+         * Getter method for the cell that was set on fire when the maze was generated.
+         * @return Cell index, or -1 if nothing was on fire.
+         */
+        public int getFireCell() {
+            return fireCell;
+        }
+
+        /**
+         * Getter method for the seed the trial samples its fire from.
+         * @return Fire seed.
+         */
+        public long getFireSeed() {
+            return fireSeed;
+        }
+
+        /**
+         * Getter method for the seed Strategy 4 draws its rollouts from.
+         * @return Rollout seed.
+         */
+        public long getRolloutSeed() {
+            return rolloutSeed;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.company;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Level-synchronous BFS for a single very large maze, spread over a fork-join pool.
+ * Each level's frontier is cut into chunks; a task expands a chunk into its own next-frontier buffer,
+ * claiming cells in a shared visited bitmap with compare-and-set, so every cell is taken by exactly one task.
+ * The buffers are joined into the next frontier between levels.
+ * Distances are the same as a sequential BFS; parents may differ when two cells of a level reach the same
+ * neighbor, but any of them gives a shortest path.
+ * Not thread-safe: one search at a time per instance.
+ * @author Aditya Dhawan, Annie Thach
+ */
+public class ParallelBFS {
+    /** Cells per chunk; a frontier smaller than this is expanded on the calling thread. */
+    static final int CHUNK = 4096;
+
+    private final ForkJoinPool pool;
+    private Maze maze;
+    private int dim;
+    private AtomicLongArray visited = new AtomicLongArray(0);
+    private int[] dist = new int[0];
+    private int[] parent = new int[0];
+    private int[] frontier = new int[0];
+    private int frontierSize;
+    private int[][] buffers = new int[0][];
+    private int[] counts = new int[0];
+    private int numVisited;
+
+    /**
+     * Constructor for a search on the common fork-join pool.
+     */
+    public ParallelBFS() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor for a search on a given pool.
+     * @param pool - Pool the levels are expanded on.
+     */
+    public ParallelBFS(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * BFS from a cell to the goal (dim - 1, dim - 1).
+     * @param maze - Maze to search. Obstacles and fire are walls.
+     * @param start - Cell index to start from.
+     * @return Path information; the shortest path is null if the goal is unreachable.
+     */
+    public PathInfo search(Maze maze, int start) {
+        return search(maze, start, maze.getGoal());
+    }
+
+    /**
+     * BFS from one cell to another, stopping after the level that reaches the goal.
+     * @param maze - Maze to search. Obstacles and fire are walls.
+     * @param start - Cell index to start from.
+     * @param goal - Cell index to reach, or -1 to reach every cell reachable from start.
+     * @return Path information; the shortest path is null if the goal was not reached.
+     */
+    public PathInfo search(Maze maze, int start, int goal) {
+        begin(maze);
+        claim(start);
+        dist[start] = 0;
+        parent[start] = start;
+        frontier[0] = start;
+        frontierSize = 1;
+        numVisited = 1;
+
+        int level = 0;
+        while(frontierSize > 0 && (goal < 0 || !isVisited(goal))) {
+            level++;
+            int numChunks = (frontierSize + CHUNK - 1) / CHUNK;
+            if(numChunks == 1) {
+                expand(0, level);
+            } else {
+                pool.invoke(new Expand(0, numChunks, level));
+            }
+            join(numChunks);
+        }
+
+        if(goal < 0 || !isVisited(goal)) {
+            return new PathInfo(null, numVisited);
+        }
+        return new PathInfo(buildPath(goal), numVisited);
+    }
+
+    /**
+     * Getter method for the distance array of the last search.
+     * @return Steps from the start to each cell; only meaningful where isVisited is true.
+     */
+    public int[] getDistances() {
+        return dist;
+    }
+
+    /**
+     * Getter method for the parent array of the last search; the start is its own parent.
+     * @return Parent cell of each visited cell.
+     */
+    public int[] getParents() {
+        return parent;
+    }
+
+    /**
+     * Checks if the last search reached a cell.
+     * @param cell - Cell index.
+     * @return True if visited.
+     */
+    public boolean isVisited(int cell) {
+        return (visited.get(cell >>> 6) & (1L << cell)) != 0;
+    }
+
+    /**
+     * Helper method to size and clear the arrays for a maze.
+     */
+    private void begin(Maze maze) {
+        this.maze = maze;
+        this.dim = maze.getDim();
+        int size = maze.size();
+        int words = (size + 63) >>> 6;
+        if(visited.length() < words) {
+            visited = new AtomicLongArray(words);
+        } else {
+            for(int i = 0; i < words; i++) {
+                visited.set(i, 0L);
+            }
+        }
+        if(dist.length < size) {
+            dist = new int[size];
+            parent = new int[size];
+            frontier = new int[size];
+        }
+        ensureBuffers(1);
+    }
+
+    /**
+     * Helper method to expand one chunk of the frontier into that chunk's buffer.
+     */
+    private void expand(int chunk, int level) {
+        int from = chunk * CHUNK;
+        int to = Math.min(frontierSize, from + CHUNK);
+        int[] out = buffers[chunk];
+        int count = 0;
+        for(int i = from; i < to; i++) {
+            int cell = frontier[i];
+            int row = cell / dim;
+            int col = cell - row * dim;
+            if(row + 1 < dim) {
+                count = visit(cell, cell + dim, level, out, count);
+            }
+            if(col + 1 < dim) {
+                count = visit(cell, cell + 1, level, out, count);
+            }
+            if(col - 1 >= 0) {
+                count = visit(cell, cell - 1, level, out, count);
+            }
+            if(row - 1 >= 0) {
+                count = visit(cell, cell - dim, level, out, count);
+            }
+        }
+        counts[chunk] = count;
+    }
+
+    /**
+     * Helper method to claim an open neighbor for this task and add it to the task's buffer.
+     * Only the claiming task writes the neighbor's distance and parent.
+     * @return New number of cells in the buffer.
+     */
+    private int visit(int cell, int neighbor, int level, int[] out, int count) {
+        if(maze.isOpen(neighbor) && claim(neighbor)) {
+            dist[neighbor] = level;
+            parent[neighbor] = cell;
+            out[count++] = neighbor;
+        }
+        return count;
+    }
+
+    /**
+     * Helper method to set a cell's visited bit.
+     * @return True if this call set it; false if it was already set.
+     */
+    private boolean claim(int cell) {
+        int w = cell >>> 6;
+        long bit = 1L << cell;
+        while(true) {
+            long old = visited.get(w);
+            if((old & bit) != 0) {
+                return false;
+            }
+            if(visited.compareAndSet(w, old, old | bit)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Helper method to make sure there is a buffer for every chunk of the current frontier.
+     * A chunk can add at most 3 cells per frontier cell (one neighbor is where it came from), 4 at the start.
+     */
+    private void ensureBuffers(int numChunks) {
+        if(buffers.length < numChunks) {
+            int old = buffers.length;
+            buffers = Arrays.copyOf(buffers, numChunks);
+            counts = Arrays.copyOf(counts, numChunks);
+            for(int c = old; c < numChunks; c++) {
+                buffers[c] = new int[4 * CHUNK];
+            }
+        }
+    }
+
+    /**
+     * Helper method to concatenate the chunk buffers into the next frontier.
+     */
+    private void join(int numChunks) {
+        int size = 0;
+        for(int c = 0; c < numChunks; c++) {
+            System.arraycopy(buffers[c], 0, frontier, size, counts[c]);
+            size += counts[c];
+        }
+        frontierSize = size;
+        numVisited += size;
+        ensureBuffers((size + CHUNK - 1) / CHUNK);
+    }
+
+    /**
+     * Helper method to trace parents back from the goal.
+     * @return The path from start to goal, inclusive.
+     */
+    private ArrayList<Index> buildPath(int goal) {
+        int length = dist[goal] + 1;
+        int[] cells = frontier; // No longer needed once the search is over.
+        int cell = goal;
+        for(int i = length - 1; i >= 0; i--) {
+            cells[i] = cell;
+            cell = parent[cell];
+        }
+
+        ArrayList<Index> shortestPath = new ArrayList<Index>(length);
+        Index previous = null;
+        for(int i = 0; i < length; i++) {
+            Index step = new Index(maze.rowOf(cells[i]), maze.colOf(cells[i]), i, previous);
+            shortestPath.add(step);
+            previous = step;
+        }
+        return shortestPath;
+    }
+
+    /**
+     * Expands a range of frontier chunks, splitting it in half until one chunk is left per task.
+     */
+    private final class Expand extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int lo;
+        private final int hi;
+        private final int level;
+
+        /**
+         * Constructor for a task over chunks lo to hi - 1.
+         */
+        Expand(int lo, int hi, int level) {
+            this.lo = lo;
+            this.hi = hi;
+            this.level = level;
+        }
+
+        @Override
+        protected void compute() {
+            if(hi - lo == 1) {
+                expand(lo, level);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new Expand(lo, mid, level), new Expand(mid, hi, level));
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.company;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Newman–Ziff percolation for "is the goal reachable" at every obstacle density at once.
+ * A sample opens the spaces of an empty maze one by one in random order, joining each to its open
+ * neighbors in a weighted union-find with path compression, and records how many had to be opened
+ * before start and goal were connected. Over many samples this gives Q(n), the chance start and goal
+ * are connected with exactly n spaces open. A maze of density p has Binomial(M, 1 - p) open spaces
+ * (M being every space but start and goal, which are always open), so
+ * P[G reachable](p) = sum over n of C(M, n) (1 - p)^n p^(M - n) Q(n), for any p, from the same samples.
+ * @author Aditya Dhawan, Annie Thach
+ */
+public class Percolation {
+    private final int dim;
+    private final int numSpaces;  // M: spaces that can be obstacles.
+    private final int[] parent;   // Union-find parent; -1 while a space is an obstacle.
+    private final int[] size;     // Size of each root's set.
+    private final int[] order;    // Spaces in the order they are opened.
+    private final double[] logFactorial;
+
+    /**
+     * Constructor that sets up the arrays for one maze dimension.
+     * @param dim - Dimension of maze; at least 2.
+     */
+    public Percolation(int dim) {
+        if(dim < 2) {
+            throw new IllegalArgumentException("Percolation needs dim >= 2, got " + dim);
+        }
+        this.dim = dim;
+        this.numSpaces = dim * dim - 2;
+        this.parent = new int[dim * dim];
+        this.size = new int[dim * dim];
+        this.order = new int[numSpaces];
+        for(int i = 0; i < numSpaces; i++) {
+            order[i] = i + 1; // Every cell but 0 (start) and dim * dim - 1 (goal).
+        }
+        this.logFactorial = new double[numSpaces + 1];
+        for(int n = 1; n <= numSpaces; n++) {
+            logFactorial[n] = logFactorial[n - 1] + Math.log(n);
+        }
+    }
+
+    /**
+     * Runs one sample: opens spaces in a random order until start and goal are connected.
+     * @param random - Generator owned by the caller.
+     * @return Number of spaces opened when start and goal joined, 0 to M.
+     */
+    public int sample(SplittableRandom random) {
+        int start = 0;
+        int goal = dim * dim - 1;
+        Arrays.fill(parent, -1);
+        open(start);
+        open(goal);
+        if(find(start) == find(goal)) {
+            return 0;
+        }
+
+        // Fisher–Yates, drawn as the spaces are opened so an early connection stops the shuffle too.
+        for(int n = 0; n < numSpaces; n++) {
+            int pick = n + random.nextInt(numSpaces - n);
+            int cell = order[pick];
+            order[pick] = order[n];
+            order[n] = cell;
+
+            open(cell);
+            if(find(start) == find(goal)) {
+                return n + 1;
+            }
+        }
+        return numSpaces; // Not reached: with every space open, start and goal are connected.
+    }
+
+    /**
+     * Estimates P[G reachable] at each density from a number of samples.
+     * @param densities - Obstacle densities, each between 0.0 and 1.0.
+     * @param samples - Number of samples.
+     * @param random - Generator owned by the caller.
+     * @return P[G reachable] for each density, in the same order.
+     */
+    public double[] reachability(double[] densities, int samples, SplittableRandom random) {
+        int[] connectedAt = new int[numSpaces + 1]; // Histogram of sample().
+        for(int s = 0; s < samples; s++) {
+            connectedAt[sample(random)]++;
+        }
+
+        // Q(n): fraction of samples connected with n spaces open.
+        double[] connected = new double[numSpaces + 1];
+        int count = 0;
+        for(int n = 0; n <= numSpaces; n++) {
+            count += connectedAt[n];
+            connected[n] = (double) count / samples;
+        }
+
+        double[] reachable = new double[densities.length];
+        for(int i = 0; i < densities.length; i++) {
+            reachable[i] = convolve(connected, 1.0 - densities[i]);
+        }
+        return reachable;
+    }
+
+    /**
+     * Helper method to average Q(n) over n ~ Binomial(M, openRate).
+     * Terms are computed in logs, since C(M, n) alone overflows a double for large mazes,
+     * and terms more than e^-40 below the largest are skipped.
+     */
+    private double convolve(double[] connected, double openRate) {
+        if(openRate <= 0.0) {
+            return connected[0];
+        }
+        if(openRate >= 1.0) {
+            return connected[numSpaces];
+        }
+        double logOpen = Math.log(openRate);
+        double logClosed = Math.log(1.0 - openRate);
+        int mode = (int) Math.min(numSpaces, Math.floor((numSpaces + 1) * openRate));
+        double logMax = logBinomial(mode, logOpen, logClosed);
+
+        double sum = 0.0;
+        double weight = 0.0;
+        for(int n = 0; n <= numSpaces; n++) {
+            double logTerm = logBinomial(n, logOpen, logClosed) - logMax;
+            if(logTerm > -40.0) {
+                double term = Math.exp(logTerm);
+                sum += term * connected[n];
+                weight += term;
+            }
+        }
+        return sum / weight; // weight is 1 up to the skipped terms and rounding.
+    }
+
+    /**
+     * Helper method for log(C(M, n) (1 - p)^n p^(M - n)).
+     */
+    private double logBinomial(int n, double logOpen, double logClosed) {
+        return logFactorial[numSpaces] - logFactorial[n] - logFactorial[numSpaces - n]
+            + n * logOpen + (numSpaces - n) * logClosed;
+    }
+
+    /**
+     * Helper method to open a space and join it to its open neighbors.
+     */
+    private void open(int cell) {
+        parent[cell] = cell;
+        size[cell] = 1;
+        int row = cell / dim;
+        int col = cell - row * dim;
+        if(row + 1 < dim) {
+            union(cell, cell + dim);
+        }
+        if(col + 1 < dim) {
+            union(cell, cell + 1);
+        }
+        if(col - 1 >= 0) {
+            union(cell, cell - 1);
+        }
+        if(row - 1 >= 0) {
+            union(cell, cell - dim);
+        }
+    }
+
+    /**
+     * Helper method to join the sets of two spaces, smaller under larger, if the neighbor is open.
+     */
+    private void union(int cell, int neighbor) {
+        if(parent[neighbor] < 0) {
+            return;
+        }
+        int a = find(cell);
+        int b = find(neighbor);
+        if(a == b) {
+            return;
+        }
+        if(size[a] < size[b]) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+        parent[b] = a;
+        size[a] += size[b];
+    }
+
+    /**
+     * Helper method to find a space's root, pointing every space on the way straight at it.
+     */
+    private int find(int cell) {
+        int root = cell;
+        while(parent[root] != root) {
+            root = parent[root];
+        }
+        while(parent[cell] != root) {
+            int next = parent[cell];
+            parent[cell] = root;
+            cell = next;
+        }
+        return root;
+    }
+}
@@ -0,0 +1,35 @@
+package com.company;
+
+/**
+ * A path planner that keeps its search state while the agent walks and the fire spreads,
+ * so each step only repairs what changed instead of searching again from scratch.
+ * Obstacles and fire in the maze it was built on are walls.
+ * @author Aditya Dhawan, Annie Thach
+ */
+public interface Replanner {
+
+    /**
+     * Tells the planner the agent moved.
+     * @param cell - Cell index the agent is on now.
+     */
+    void moveAgent(int cell);
+
+    /**
+     * Tells the planner a space became a wall (caught fire) since the last replan.
+     * @param cell - Cell index of the new wall.
+     */
+    void cellBlocked(int cell);
+
+    /**
+     * Brings the plan up to date with every move and wall reported since the last replan.
+     * @return True if the goal can still be reached from the agent.
+     */
+    boolean replan();
+
+    /**
+     * Getter method for the next space on a shortest path from the agent to the goal.
+     * Only valid after replan() returned true.
+     * @return Cell index of the next step, or -1 if the agent is on the goal.
+     */
+    int nextStep();
+}
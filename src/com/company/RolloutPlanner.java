@@ -0,0 +1,339 @@
+package com.company;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Monte Carlo lookahead: before each step, every open neighbor of the agent is scored by short fire rollouts
+ * from the maze as it is now, and the agent moves to the one it survives most often.
+ * In a rollout the agent steps to the candidate and then follows the shortest path down the distance field
+ * for about horizon steps; it survives if the space it stands on is not on fire after each fire step.
+ *
+ * Rollouts run 64 at a time on a BitSlicedFire, and the (candidate, batch of 64) jobs are spread over a
+ * fork-join pool. The rollouts only burn a window: the square of spaces the fire could carry to the agent
+ * within the horizon, copied out of the maze once per step. Each thread keeps one BitSlicedFire the size
+ * of a window and resets it per job, so a job costs time, and a thread keeps memory, in proportion to the
+ * horizon, not the maze.
+ * Every job's generator is seeded from this planner's generator before the jobs start,
+ * so the choice does not depend on how the jobs are scheduled.
+ * @author Aditya Dhawan, Annie Thach
+ */
+public class RolloutPlanner implements Replanner {
+    // One reusable rollout grid per thread, the size of a window; reset for every job.
+    private static final ThreadLocal<BitSlicedFire> FIRES =
+        ThreadLocal.withInitial(() -> new BitSlicedFire(new Maze(1), 0.0, new SplittableRandom(0L)));
+
+    private final Maze maze;
+    private final double q;
+    private final int numRollouts;
+    private final int horizon;
+    private final SplittableRandom random;
+    private final ForkJoinPool pool;
+    private final DistanceField field;
+    private final int dim;
+    private final int goal;
+    private final int reach;   // Farthest fire from the agent that can matter; see loadWindow.
+    private final int width;   // The window is width x width, centered on the agent.
+    private final Maze window;
+
+    private int[] fireCells = new int[64]; // Window cells on fire near enough to the agent to matter.
+    private int numFireCells;
+
+    private final int[] candidates = new int[4];
+    private int numCandidates;
+    private int batches;
+    private long[] seeds = new long[0];
+    private int[] survived = new int[0];
+    private final int[][] paths = new int[4][];
+    private final int[][] windowPaths = new int[4][]; // paths in window cells.
+    private final int[] pathLengths = new int[4];
+
+    private int agent;
+    private int next = -1;
+
+    /**
+     * Constructor for a planner whose rollouts run on the common fork-join pool.
+     * @param maze - Maze to plan on; fire written into it later must be reported through cellBlocked.
+     * @param start - Cell index of the agent.
+     * @param q - Flammability rate the rollouts spread fire with.
+     * @param numRollouts - Rollouts per candidate move.
+     * @param horizon - Fire steps per rollout.
+     * @param random - Generator for the rollouts, owned by the planner.
+     */
+    public RolloutPlanner(Maze maze, int start, double q, int numRollouts, int horizon, SplittableRandom random) {
+        this(maze, start, q, numRollouts, horizon, random, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor for a planner whose rollouts run on a given pool.
+     * @param maze - Maze to plan on; fire written into it later must be reported through cellBlocked.
+     * @param start - Cell index of the agent.
+     * @param q - Flammability rate the rollouts spread fire with.
+     * @param numRollouts - Rollouts per candidate move; at least 1.
+     * @param horizon - Fire steps per rollout; at least 1.
+     * @param random - Generator for the rollouts, owned by the planner.
+     * @param pool - Pool the rollouts run on.
+     */
+    public RolloutPlanner(Maze maze, int start, double q, int numRollouts, int horizon, SplittableRandom random, ForkJoinPool pool) {
+        if(numRollouts < 1 || horizon < 1) {
+            throw new IllegalArgumentException("Rollouts and horizon must be positive, got " + numRollouts + " and " + horizon);
+        }
+        this.maze = maze;
+        this.q = q;
+        this.numRollouts = numRollouts;
+        this.horizon = horizon;
+        this.random = random;
+        this.pool = pool;
+        this.field = new DistanceField(maze, start);
+        field.refresh();
+        this.dim = maze.getDim();
+        this.goal = maze.getGoal();
+        this.agent = start;
+        this.reach = 2 * (horizon + 2);
+        this.width = 2 * reach + 1;
+        this.window = new Maze(width);
+        for(int c = 0; c < paths.length; c++) {
+            paths[c] = new int[horizon + 2];
+            windowPaths[c] = new int[horizon + 2];
+        }
+    }
+
+    @Override
+    public void moveAgent(int cell) {
+        agent = cell;
+    }
+
+    @Override
+    public void cellBlocked(int cell) {
+        field.cellBlocked(cell);
+    }
+
+    /**
+     * Scores every open neighbor of the agent that can still reach the goal and picks the best:
+     * most rollouts survived, then closest to the goal, then down → right → left → up.
+     * @return False if the agent can no longer reach the goal.
+     */
+    @Override
+    public boolean replan() {
+        next = -1;
+        if(agent == goal) {
+            return true;
+        }
+        // The field is only rebuilt once some candidate's route runs into fire; see findCandidates.
+        if(!findCandidates()) {
+            field.refresh();
+            findCandidates();
+        }
+        if(numCandidates == 0) {
+            return false;
+        }
+        loadWindow();
+        batches = (numRollouts + BitSlicedFire.REALIZATIONS - 1) / BitSlicedFire.REALIZATIONS;
+        int numJobs = numCandidates * batches;
+        if(seeds.length < numJobs) {
+            seeds = new long[numJobs];
+            survived = new int[numJobs];
+        }
+        for(int j = 0; j < numJobs; j++) {
+            seeds[j] = random.nextLong();
+        }
+        if(numJobs == 1) {
+            rollout(0);
+        } else {
+            pool.invoke(new Rollouts(0, numJobs));
+        }
+
+        int bestScore = -1;
+        for(int c = 0; c < numCandidates; c++) {
+            int score = 0;
+            for(int b = 0; b < batches; b++) {
+                score += survived[c * batches + b];
+            }
+            if(score > bestScore || (score == bestScore && field.getDistance(candidates[c]) < field.getDistance(next))) {
+                bestScore = score;
+                next = candidates[c];
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int nextStep() {
+        return next;
+    }
+
+    /**
+     * Helper method to copy the spaces within reach of the agent into the window, with spaces past the edge
+     * of the maze as obstacles, then list the window's fire that can matter to a rollout and put the
+     * candidates' paths in window cells.
+     * Fire spreads at most one space per step, and a rollout's agent is at most t spaces from where it starts
+     * after t steps, so neither fire nor spaces more than twice the longest rollout from the agent can change
+     * whether it survives; leaving them out does not change any rollout.
+     */
+    private void loadWindow() {
+        numFireCells = 0;
+        int row = agent / dim;
+        int col = agent - row * dim;
+        for(int r = 0; r < width; r++) {
+            int mazeRow = row - reach + r;
+            for(int c = 0; c < width; c++) {
+                int mazeCol = col - reach + c;
+                int cell = r * width + c;
+                if(mazeRow < 0 || mazeRow >= dim || mazeCol < 0 || mazeCol >= dim) {
+                    window.set(cell, Maze.OBSTACLE);
+                    continue;
+                }
+                byte space = maze.get(mazeRow * dim + mazeCol);
+                window.set(cell, space);
+                if(space == Maze.FIRE && Math.abs(r - reach) + Math.abs(c - reach) <= reach) {
+                    if(numFireCells == fireCells.length) {
+                        fireCells = Arrays.copyOf(fireCells, numFireCells * 2);
+                    }
+                    fireCells[numFireCells++] = cell;
+                }
+            }
+        }
+
+        for(int c = 0; c < numCandidates; c++) {
+            for(int t = 0; t < pathLengths[c]; t++) {
+                int cell = paths[c][t];
+                int r = cell / dim - row + reach;
+                windowPaths[c][t] = r * width + (cell % dim - col + reach);
+            }
+        }
+    }
+
+    /**
+     * Helper method to list the agent's open neighbors that can reach the goal, with each one's rollout path:
+     * the neighbor, then down the distance field.
+     * A step away from the goal gets a rollout two steps longer than a step toward it, so every rollout ends
+     * the same distance from the goal; otherwise backing away would look safer just by putting the danger
+     * past the horizon.
+     *
+     * The field may be stale, since it is not rebuilt for every fire. Fire only lengthens distances, so
+     * a candidate whose whole route down the field is free of fire still has its exact distance.
+     * @return False if some route ran into fire, so the field must be rebuilt and the candidates found again.
+     */
+    private boolean findCandidates() {
+        numCandidates = 0;
+        boolean clear = true;
+        int row = agent / dim;
+        int col = agent - row * dim;
+        if(row + 1 < dim) {
+            clear &= addCandidate(agent + dim);
+        }
+        if(col + 1 < dim) {
+            clear &= addCandidate(agent + 1);
+        }
+        if(col - 1 >= 0) {
+            clear &= addCandidate(agent - 1);
+        }
+        if(row - 1 >= 0) {
+            clear &= addCandidate(agent - dim);
+        }
+
+        int closest = DistanceField.UNREACHABLE;
+        for(int c = 0; c < numCandidates; c++) {
+            closest = Math.min(closest, field.getDistance(candidates[c]));
+        }
+        for(int c = 0; c < numCandidates; c++) {
+            int distance = field.getDistance(candidates[c]);
+            pathLengths[c] = Math.min(distance + 1, horizon + distance - closest);
+        }
+        return clear;
+    }
+
+    /**
+     * Helper method to add an open neighbor as a candidate if the field says the goal is reachable from it,
+     * keeping the start of its route and checking the whole route for fire.
+     * @return False if the route runs into fire.
+     */
+    private boolean addCandidate(int cell) {
+        if(!maze.isOpen(cell) || field.getDistance(cell) == DistanceField.UNREACHABLE) {
+            return true;
+        }
+        int c = numCandidates++;
+        candidates[c] = cell;
+        int[] path = paths[c];
+        int length = 0;
+        while(true) {
+            if(maze.get(cell) == Maze.FIRE) {
+                return false;
+            }
+            if(length < path.length) {
+                path[length++] = cell;
+            }
+            if(cell == goal) {
+                return true;
+            }
+            cell = downhill(cell);
+        }
+    }
+
+    /**
+     * Helper method to find the neighbor one step closer to the goal, with ties going down → right → left → up.
+     */
+    private int downhill(int cell) {
+        int target = field.getDistance(cell) - 1;
+        int row = cell / dim;
+        int col = cell - row * dim;
+        if(row + 1 < dim && field.getDistance(cell + dim) == target) {
+            return cell + dim;
+        }
+        if(col + 1 < dim && field.getDistance(cell + 1) == target) {
+            return cell + 1;
+        }
+        if(col - 1 >= 0 && field.getDistance(cell - 1) == target) {
+            return cell - 1;
+        }
+        return cell - dim;
+    }
+
+    /**
+     * Helper method to run one job: a batch of up to 64 rollouts for one candidate.
+     */
+    private void rollout(int job) {
+        int c = job / batches;
+        int batch = job - c * batches;
+        int size = Math.min(BitSlicedFire.REALIZATIONS, numRollouts - batch * BitSlicedFire.REALIZATIONS);
+        long alive = size == BitSlicedFire.REALIZATIONS ? -1L : (1L << size) - 1; // One bit per rollout still alive.
+
+        BitSlicedFire fire = FIRES.get();
+        fire.reset(window, fireCells, numFireCells, q, new SplittableRandom(seeds[job]));
+        int[] path = windowPaths[c];
+        for(int t = 0; t < pathLengths[c] && alive != 0; t++) {
+            fire.step(); //the agent has stepped to path[t], now the fire advances once
+            alive &= ~fire.getFire(path[t]);
+        }
+        survived[job] = Long.bitCount(alive);
+    }
+
+    /**
+     * Runs a range of jobs, splitting it in half until one job is left per task.
+     */
+    private final class Rollouts extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int lo;
+        private final int hi;
+
+        /**
+         * Constructor for a task over jobs lo to hi - 1.
+         */
+        Rollouts(int lo, int hi) {
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if(hi - lo == 1) {
+                rollout(lo);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new Rollouts(lo, mid), new Rollouts(mid, hi));
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.company;
+
+import java.util.Arrays;
+
+/**
+ * Per-thread scratch arrays shared by the search engines.
+ * Visited marks are stamped with an epoch number, so starting a new search is O(1):
+ * bumping the epoch "clears" every mark without touching the array.
+ * The number of visited cells is counted as cells are marked.
+ * @author Aditya Dhawan, Annie Thach
+ */
+public class SearchWorkspace {
+    private static final ThreadLocal<SearchWorkspace> LOCAL = ThreadLocal.withInitial(SearchWorkspace::new);
+
+    private int[] visited = new int[0];
+    private int[] parent = new int[0];
+    private int[] cost = new int[0];
+    private int[] queue = new int[0];
+    private int[] queueBack = new int[0];
+    private long[] bits = new long[0];
+    private IndexedMinHeap heap;
+    private int epoch;
+    private int numVisited;
+
+    /**
+     * Getter method for the calling thread's workspace.
+     * @return Workspace owned by the current thread.
+     */
+    public static SearchWorkspace get() {
+        return LOCAL.get();
+    }
+
+    /**
+     * Starts a new search over a maze with the given number of cells.
+     * @param size - Number of cells in the maze.
+     */
+    public void begin(int size) {
+        if(visited.length < size) {
+            visited = new int[size];
+            parent = new int[size];
+            cost = new int[size];
+            queue = new int[size];
+            queueBack = new int[size];
+            epoch = 0;
+        }
+        epoch++;
+        if(epoch == Integer.MAX_VALUE) { // Stamps would wrap around; really clear once.
+            Arrays.fill(visited, 0);
+            epoch = 1;
+        }
+        numVisited = 0;
+        if(heap != null) {
+            heap.clear();
+        }
+    }
+
+    /**
+     * Checks if a cell was marked in the current search.
+     * @param cell - Cell index.
+     * @return True if visited.
+     */
+    public boolean isVisited(int cell) {
+        return visited[cell] == epoch;
+    }
+
+    /**
+     * Marks a cell visited in the current search.
+     * @param cell - Cell index.
+     */
+    public void markVisited(int cell) {
+        visited[cell] = epoch;
+        numVisited++;
+    }
+
+    /**
+     * Getter method for the number of cells marked in the current search.
+     * @return Number of visited cells.
+     */
+    public int getNumVisited() {
+        return numVisited;
+    }
+
+    /**
+     * Getter method for the parent array (parent cell of each visited cell).
+     * @return Parent array.
+     */
+    public int[] getParent() {
+        return parent;
+    }
+
+    /**
+     * Getter method for the cost array (distance or g-value of each visited cell).
+     * @return Cost array.
+     */
+    public int[] getCost() {
+        return cost;
+    }
+
+    /**
+     * Getter method for the int queue/stack array.
+     * @return Queue array; at least as long as the maze.
+     */
+    public int[] getQueue() {
+        return queue;
+    }
+
+    /**
+     * Getter method for a second int queue, for searches that grow two frontiers.
+     * @return Queue array; at least as long as the maze.
+     */
+    public int[] getQueueBack() {
+        return queueBack;
+    }
+
+    /**
+     * Getter method for a visited bitset (one bit per cell), cleared for a maze with the given number of cells.
+     * Clearing touches size / 64 longs, so it is cheaper than the int stamps for searches that only need marks.
+     * @param size - Number of cells in the maze.
+     * @return Bitset with at least size bits, all 0.
+     */
+    public long[] clearBits(int size) {
+        int words = (size + 63) >>> 6;
+        if(bits.length < words) {
+            bits = new long[words];
+        } else {
+            Arrays.fill(bits, 0, words, 0L);
+        }
+        return bits;
+    }
+
+    /**
+     * Getter method for the visited bitset as the last search left it.
+     * @return Bitset.
+     */
+    public long[] getBits() {
+        return bits;
+    }
+
+    /**
+     * Getter method for the indexed heap, sized to the current maze. Emptied by begin().
+     * @return Heap of cell indices.
+     */
+    public IndexedMinHeap getHeap() {
+        if(heap == null || heap.capacity() < visited.length) {
+            heap = new IndexedMinHeap(visited.length);
+        }
+        return heap;
+    }
+
+    /**
+     * Marks the cells visited by the current search as explored (1) in a maze, for printing.
+     * @param maze - Maze to mark; should be a copy.
+     */
+    public void markExplored(Maze maze) {
+        for(int cell = 0; cell < maze.size(); cell++) {
+            if(visited[cell] == epoch) {
+                maze.set(cell, Maze.EXPLORED);
+            }
+        }
+    }
+}